@@ -2,8 +2,11 @@ package com.petcare;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class) // DataSource는 SqlStorageConfig에서만 생성
+@EnableScheduling
 public class PetCareApplication {
     public static void main(String[] args) {
         SpringApplication.run(PetCareApplication.class, args);
@@ -0,0 +1,63 @@
+package com.petcare.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * 내장 SQL 저장소 설정 (app.storage.backend=sql)
+ * 파일 모드에서는 데이터베이스를 만들지 않도록 DataSource 자동 설정을 끄고 여기서만 생성합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "sql")
+public class SqlStorageConfig {
+
+    private static final String SCHEMA = "db/schema.sql";
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource dataSource(@Value("${app.storage.sql.url}") String url,
+                                       @Value("${app.storage.sql.username:sa}") String username,
+                                       @Value("${app.storage.sql.password:}") String password) {
+        HikariDataSource dataSource = createDataSource(url, username, password);
+        System.out.println("🗄️ SQL 저장소 연결: " + url);
+        return dataSource;
+    }
+
+    @Bean
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(DataSource dataSource) {
+        return new DataSourceTransactionManager(dataSource);
+    }
+
+    @Bean
+    public TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 커넥션 풀 생성 후 스키마 적용 (CREATE ... IF NOT EXISTS라 여러 번 실행해도 안전)
+     */
+    public static HikariDataSource createDataSource(String url, String username, String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setPoolName("petcare-sql");
+        new ResourceDatabasePopulator(new ClassPathResource(SCHEMA)).execute(dataSource);
+        return dataSource;
+    }
+}
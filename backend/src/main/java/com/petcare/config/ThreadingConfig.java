@@ -0,0 +1,65 @@
+package com.petcare.config;
+
+import com.petcare.util.BackgroundThreads;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 요청 처리 스레드 모드 (spring.threads.virtual.enabled)
+ *
+ * Java 21 이상 JRE에서 켜면 Spring Boot가 Tomcat 요청 처리, @Scheduled 작업, 기본 TaskExecutor를 가상 스레드로 실행하고,
+ * 내부 백그라운드 스레드(hospital-snapshot, data-file-watcher)도 BackgroundThreads를 통해 가상 스레드로 만듭니다.
+ * 파일 저장소 I/O를 기다리는 요청이 플랫폼 스레드 풀(server.tomcat.threads.max)을 차지하지 않습니다.
+ * 빌드 대상은 Java 17이므로 Runtime.version().feature() >= 21일 때만 적용되고, Java 17에서는 경고 후 플랫폼 스레드를 사용합니다.
+ * 공유 자원은 synchronized 대신 ReentrantLock/원자 변수로 보호하므로 가상 스레드가 캐리어 스레드에 고정되지 않습니다.
+ * (저널·파일 그룹 커밋은 별도 스레드 없이 변경을 요청한 스레드가 기록합니다.)
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private final boolean virtualRequested;
+    private final boolean virtualActive;
+
+    public ThreadingConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualRequested) {
+        this.virtualRequested = virtualRequested;
+        this.virtualActive = virtualRequested && isVirtualSupported();
+        if (virtualActive) {
+            System.out.println("🧵 가상 스레드 모드로 요청을 처리합니다. (Java " + Runtime.version().feature() + ")");
+        } else if (virtualRequested) {
+            System.err.println("⚠️ 가상 스레드는 Java 21 이상에서만 사용할 수 있습니다. (현재 Java "
+                    + Runtime.version().feature() + ") 플랫폼 스레드 풀로 요청을 처리합니다.");
+        }
+    }
+
+    public static boolean isVirtualSupported() {
+        return BackgroundThreads.isVirtualSupported();
+    }
+
+    /**
+     * 현재 스레드 모드와 JVM 플랫폼 스레드 수 {mode, virtualRequested, javaVersion, liveThreads, peakThreads, daemonThreads}
+     * 가상 스레드는 스레드 수에 포함되지 않으므로 가상 스레드 모드에서는 캐리어·백그라운드 스레드만 집계됩니다.
+     */
+    public Map<String, Object> getThreadStats() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", virtualActive ? "virtual" : "platform");
+        stats.put("virtualRequested", virtualRequested);
+        stats.put("javaVersion", Runtime.version().feature());
+        stats.put("liveThreads", threads.getThreadCount());
+        stats.put("peakThreads", threads.getPeakThreadCount());
+        stats.put("daemonThreads", threads.getDaemonThreadCount());
+        return stats;
+    }
+
+    /**
+     * 최대 스레드 수 기록을 현재 값으로 초기화 (부하 테스트 구간별 측정용)
+     */
+    public void resetPeakThreads() {
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+}
@@ -0,0 +1,98 @@
+package com.petcare.controller;
+
+import com.petcare.config.ThreadingConfig;
+import com.petcare.index.HospitalIndex;
+import com.petcare.service.AnalysisCache;
+import com.petcare.service.HospitalService;
+import com.petcare.service.ShortlistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 운영용 API (병원 데이터 스냅샷 확인/다시 읽기, 병원 후보·증상 분석 캐시 상태, 요청 처리 스레드 상태)
+ */
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+    
+    @Autowired
+    private HospitalService hospitalService;
+    
+    @Autowired
+    private ShortlistService shortlistService;
+    
+    @Autowired
+    private AnalysisCache analysisCache;
+    
+    @Autowired
+    private ThreadingConfig threadingConfig;
+    
+    @GetMapping("/hospitals/snapshot")
+    public ResponseEntity<Map<String, Object>> getHospitalSnapshot() {
+        try {
+            return ResponseEntity.ok(describe(hospitalService.getHospitalIndex()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * hospitals.json을 직접 수정한 뒤 파일 감시를 기다리지 않고 바로 반영
+     */
+    @PostMapping("/hospitals/reload")
+    public ResponseEntity<Map<String, Object>> reloadHospitals() {
+        try {
+            return ResponseEntity.ok(describe(hospitalService.reloadHospitals()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * 병원 후보 캐시 크기·적중률
+     */
+    @GetMapping("/shortlists/cache")
+    public ResponseEntity<Map<String, Object>> getShortlistCacheStats() {
+        return ResponseEntity.ok(shortlistService.getCacheStats());
+    }
+    
+    /**
+     * 증상 분석(AI1) 캐시 크기·적중률
+     */
+    @GetMapping("/analysis/cache")
+    public ResponseEntity<Map<String, Object>> getAnalysisCacheStats() {
+        return ResponseEntity.ok(analysisCache.getStats());
+    }
+    
+    /**
+     * 스레드 모드(virtual/platform)와 JVM 스레드 수
+     */
+    @GetMapping("/threads")
+    public ResponseEntity<Map<String, Object>> getThreadStats() {
+        return ResponseEntity.ok(threadingConfig.getThreadStats());
+    }
+    
+    /**
+     * 최대 스레드 수 기록 초기화 (AnalysisLoadTest가 동시성 단계마다 호출)
+     */
+    @PostMapping("/threads/peak/reset")
+    public ResponseEntity<Map<String, Object>> resetPeakThreads() {
+        threadingConfig.resetPeakThreads();
+        return ResponseEntity.ok(threadingConfig.getThreadStats());
+    }
+    
+    private Map<String, Object> describe(HospitalIndex snapshot) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("version", snapshot.getVersion());
+        response.put("hospitals", snapshot.size());
+        response.put("builtAt", snapshot.getBuiltAt().toString());
+        return response;
+    }
+}
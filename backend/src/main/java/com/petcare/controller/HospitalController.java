@@ -1,6 +1,7 @@
 package com.petcare.controller;
 
 import com.petcare.model.Hospital;
+import com.petcare.model.NearbyHospitalPage;
 import com.petcare.service.HospitalService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -21,7 +22,8 @@ public class HospitalController {
     @GetMapping
     public ResponseEntity<List<Hospital>> getAllHospitals(
             @RequestParam(required = false) String city,
-            @RequestParam(required = false) String department) {
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "false") boolean openNow) {
         try {
             List<Hospital> hospitals;
             if (city != null) {
@@ -31,12 +33,60 @@ public class HospitalController {
             } else {
                 hospitals = hospitalService.getAllHospitals();
             }
+            if (openNow) {
+                hospitals = hospitalService.filterOpenNow(hospitals);
+            }
             return ResponseEntity.ok(hospitals);
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * 여러 진료과 + 도시 + 진료 중 조건 검색
+     * 예: /api/hospitals/search?departments=내과,안과&match=all&city=대전광역시 유성구&openNow=true
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Hospital>> searchHospitals(
+            @RequestParam(required = false) List<String> departments,
+            @RequestParam(defaultValue = "any") String match,
+            @RequestParam(required = false) String city,
+            @RequestParam(defaultValue = "false") boolean openNow) {
+        if (!"any".equals(match) && !"all".equals(match)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(hospitalService.searchHospitals(departments, "all".equals(match), city, openNow));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * 좌표(lat/lon) 또는 주소(region) 주변 병원, 가까운 순 커서 페이징
+     * 예: /api/hospitals/nearby?region=대전 유성구&radiusKm=3&department=안과&openNow=true&limit=10
+     *     다음 페이지는 응답의 nextCursor를 cursor로 전달
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<NearbyHospitalPage> getNearbyHospitals(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) String region,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "false") boolean openNow,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(hospitalService.findNearbyHospitals(
+                    lat, lon, region, radiusKm, department, openNow, limit, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Hospital> getHospital(@PathVariable String id) {
         try {
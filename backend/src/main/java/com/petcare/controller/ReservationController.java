@@ -3,11 +3,13 @@ package com.petcare.controller;
 import com.petcare.model.Reservation;
 import com.petcare.service.ReservationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -51,6 +53,37 @@ public class ReservationController {
         }
     }
     
+    @GetMapping("/hospital/{hospitalId}")
+    public ResponseEntity<List<Reservation>> getReservationsByHospital(
+            @PathVariable String hospitalId,
+            @RequestParam(required = false) String status) {
+        try {
+            List<Reservation> reservations = reservationService.getReservationsByHospitalId(hospitalId, status);
+            return ResponseEntity.ok(reservations);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * 예약 조건 조회
+     * 예: /api/reservations?hospitalId=hosp_001&status=pending&from=2026-10-01T00:00:00&to=2026-10-31T23:59:59
+     */
+    @GetMapping
+    public ResponseEntity<List<Reservation>> searchReservations(
+            @RequestParam(required = false) String petId,
+            @RequestParam(required = false) String hospitalId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            List<Reservation> reservations = reservationService.searchReservations(petId, hospitalId, status, from, to);
+            return ResponseEntity.ok(reservations);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     @PutMapping("/{id}/cancel")
     public ResponseEntity<Reservation> cancelReservation(@PathVariable String id) {
         try {
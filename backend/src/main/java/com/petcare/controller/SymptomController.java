@@ -5,8 +5,12 @@ import com.petcare.model.SymptomRequest;
 import com.petcare.service.SymptomAnalysisService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 
@@ -18,16 +22,45 @@ public class SymptomController {
     @Autowired
     private SymptomAnalysisService symptomAnalysisService;
     
+    /**
+     * 증상 분석 + 병원 추천 (비동기 응답, Gemini를 기다리는 동안 서블릿 스레드를 점유하지 않음)
+     */
     @PostMapping("/analyze")
-    public ResponseEntity<HospitalRecommendation> analyzeSymptoms(@RequestBody SymptomRequest symptomRequest) {
+    public Mono<ResponseEntity<HospitalRecommendation>> analyzeSymptoms(@RequestBody SymptomRequest symptomRequest) {
         try {
-            HospitalRecommendation recommendation = symptomAnalysisService.analyzeAndRecommend(symptomRequest);
-            return ResponseEntity.ok(recommendation);
+            return symptomAnalysisService.analyzeAndRecommend(symptomRequest)
+                    .map(ResponseEntity::ok);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+        } catch (IOException e) {
+            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        }
+    }
+    
+    /**
+     * 증상 분석 + 병원 추천 (SSE, 단계가 끝날 때마다 이벤트 전송)
+     * 이벤트: triage → analysis → hospitals → recommendation
+     */
+    @PostMapping(value = "/analyze/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> analyzeSymptomsStream(@RequestBody SymptomRequest symptomRequest) {
+        try {
+            return ResponseEntity.ok(symptomAnalysisService.analyzeAndRecommendStream(symptomRequest));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+    
+    /**
+     * 최근 분석 결과 조회 (응급 안내로 먼저 응답한 경우 AI 분석이 끝나면 갱신된 결과, preliminary=false)
+     */
+    @GetMapping("/results/{symptomId}")
+    public ResponseEntity<HospitalRecommendation> getResult(@PathVariable String symptomId) {
+        HospitalRecommendation recommendation = symptomAnalysisService.getResult(symptomId);
+        if (recommendation == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(recommendation);
+    }
 }
-
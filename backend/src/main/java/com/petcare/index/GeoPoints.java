@@ -0,0 +1,112 @@
+package com.petcare.index;
+
+/**
+ * 위경도 좌표 묶음 (구조체 배열 대신 축별 기본형 배열)
+ *
+ * 좌표를 미리 라디안·삼각함수로 변환해 단위 구 위의 3차원 벡터(x, y, z)로 저장합니다.
+ * 두 점의 현 길이 제곱 |p - q|²는 뺄셈·곱셈·덧셈뿐이라 연속 구간을 한 루프로 계산하면
+ * JIT가 SIMD로 벡터화할 수 있고, 대원 거리는 d = 2R·asin(√(|p - q|²) / 2)로 정확히 같습니다.
+ * (Haversine의 a 값이 |p - q|² / 4와 같음)
+ */
+public final class GeoPoints {
+
+    public static final double EARTH_RADIUS_KM = 6371;
+
+    final double[] x;
+    final double[] y;
+    final double[] z;
+
+    /**
+     * 좌표가 NaN이면 해당 위치의 거리도 NaN
+     */
+    public GeoPoints(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        x = new double[n];
+        y = new double[n];
+        z = new double[n];
+        for (int i = 0; i < n; i++) {
+            double lat = Math.toRadians(latitudes[i]);
+            double lon = Math.toRadians(longitudes[i]);
+            double cosLat = Math.cos(lat);
+            x[i] = cosLat * Math.cos(lon);
+            y[i] = cosLat * Math.sin(lon);
+            z[i] = Math.sin(lat);
+        }
+    }
+
+    GeoPoints(double[] x, double[] y, double[] z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * 기준 좌표 → 단위 벡터 {x, y, z}
+     */
+    public static double[] unitVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[]{cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    /**
+     * [from, to) 구간의 현 길이 제곱을 out[0..to-from)에 기록 (분기 없는 루프, 거리 비교용)
+     */
+    public void chordSquared(double[] q, int from, int to, double[] out) {
+        double qx = q[0];
+        double qy = q[1];
+        double qz = q[2];
+        for (int i = from; i < to; i++) {
+            double dx = x[i] - qx;
+            double dy = y[i] - qy;
+            double dz = z[i] - qz;
+            out[i - from] = dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    /**
+     * 모든 좌표까지의 대원 거리(km)를 out에 기록
+     */
+    public void distancesKm(double latitude, double longitude, double[] out) {
+        int n = size();
+        chordSquared(unitVector(latitude, longitude), 0, n, out);
+        for (int i = 0; i < n; i++) {
+            out[i] = kmOfChordSquared(out[i]);
+        }
+    }
+
+    /**
+     * 한 좌표까지의 현 길이 제곱
+     */
+    public double chordSquared(double[] q, int i) {
+        double dx = x[i] - q[0];
+        double dy = y[i] - q[1];
+        double dz = z[i] - q[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * 현 길이의 제곱 → 대원 거리(km)
+     */
+    public static double kmOfChordSquared(double chordSquared) {
+        double half = Math.min(1.0, Math.sqrt(chordSquared) / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(half);
+    }
+
+    /**
+     * 대원 거리(km) → 현 길이의 제곱 (지구 반대편까지 포함하면 무한대)
+     */
+    public static double chordSquaredOfKm(double km) {
+        double angle = km / EARTH_RADIUS_KM;
+        if (angle >= Math.PI) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double chord = 2 * Math.sin(angle / 2);
+        return chord * chord;
+    }
+}
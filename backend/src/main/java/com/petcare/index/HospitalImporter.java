@@ -0,0 +1,211 @@
+package com.petcare.index;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 병원 대량 가져오기 (JSON/CSV를 한 건씩 읽어 HospitalStore에 바로 추가, Hospital 객체 목록을 만들지 않음)
+ *
+ * JSON: hospitals.json과 같은 병원 객체 배열 (JSON 외에 같은 구조의 Smile/CBOR 파서도 사용 가능)
+ * CSV: 첫 행은 열 이름 (id,name,address,city,latitude,longitude,departments,operatingHours,phone,description 중 필요한 것)
+ *      진료과는 한 칸에 "|" 또는 ";"로 구분, 빈 칸은 값 없음, 큰따옴표로 감싼 칸은 쉼표·줄바꿈을 포함할 수 있음
+ */
+public final class HospitalImporter {
+
+    private static final List<String> COLUMNS = Arrays.asList("id", "name", "address", "city", "latitude",
+            "longitude", "departments", "operatingHours", "phone", "description");
+
+    private HospitalImporter() {
+    }
+
+    /**
+     * 병원 객체 배열 읽기 (알 수 없는 필드는 건너뜀)
+     */
+    public static HospitalStore readJson(JsonParser parser) throws IOException {
+        HospitalStore.Builder builder = new HospitalStore.Builder();
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("병원 목록은 JSON 배열이어야 합니다.");
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+            String[] values = new String[COLUMNS.size()];
+            List<String> departments = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("departments".equals(field) && value == JsonToken.START_ARRAY) {
+                    departments = new ArrayList<>();
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        departments.add(parser.getValueAsString());
+                    }
+                    continue;
+                }
+                int column = COLUMNS.indexOf(field);
+                if (column < 0 || value == JsonToken.START_ARRAY || value == JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                } else if (value != JsonToken.VALUE_NULL) {
+                    values[column] = parser.getValueAsString();
+                }
+            }
+            add(builder, values, departments, "JSON " + (builder.size() + 1) + "번째 병원");
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new IOException("병원 목록 형식 오류 (" + (builder.size() + 1) + "번째 병원): " + token);
+        }
+        return builder.build();
+    }
+
+    /**
+     * CSV 읽기 (첫 행은 열 이름)
+     */
+    public static HospitalStore readCsv(Reader reader) throws IOException {
+        HospitalStore.Builder builder = new HospitalStore.Builder();
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return builder.build();
+        }
+        Map<Integer, Integer> columnOf = new HashMap<>(); // CSV 열 → COLUMNS 위치
+        for (int i = 0; i < header.size(); i++) {
+            int column = COLUMNS.indexOf(header.get(i).trim().replace("\uFEFF", ""));
+            if (column >= 0) {
+                columnOf.put(i, column);
+            }
+        }
+        if (!columnOf.containsValue(COLUMNS.indexOf("id"))) {
+            throw new IOException("CSV에 id 열이 없습니다: " + header);
+        }
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue; // 빈 줄
+            }
+            String[] values = new String[COLUMNS.size()];
+            for (int i = 0; i < record.size(); i++) {
+                Integer column = columnOf.get(i);
+                if (column != null && !record.get(i).isEmpty()) {
+                    values[column] = record.get(i);
+                }
+            }
+            List<String> departments = null;
+            String departmentText = values[COLUMNS.indexOf("departments")];
+            if (departmentText != null) {
+                departments = new ArrayList<>();
+                for (String department : departmentText.split("[|;]")) {
+                    if (!department.trim().isEmpty()) {
+                        departments.add(department.trim());
+                    }
+                }
+            }
+            add(builder, values, departments, "CSV " + csv.recordLine + "행");
+        }
+        return builder.build();
+    }
+
+    private static void add(HospitalStore.Builder builder, String[] values, List<String> departments,
+                            String position) throws IOException {
+        builder.add(values[0], values[1], values[2], values[3],
+                parseCoordinate(values[4], position), parseCoordinate(values[5], position),
+                departments, values[7], values[8], values[9]);
+    }
+
+    private static Double parseCoordinate(String text, String position) throws IOException {
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("좌표 형식 오류 (" + position + "): " + text);
+        }
+    }
+
+    /**
+     * RFC 4180 CSV 레코드 읽기 (큰따옴표 안의 쉼표·줄바꿈·"" 처리)
+     */
+    private static final class CsvReader {
+        private final Reader reader;
+        private int line = 1;
+        private int recordLine;
+        private int peeked = -2;
+
+        private CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        private int read() throws IOException {
+            if (peeked != -2) {
+                int c = peeked;
+                peeked = -2;
+                return c;
+            }
+            return reader.read();
+        }
+
+        private int peek() throws IOException {
+            if (peeked == -2) {
+                peeked = reader.read();
+            }
+            return peeked;
+        }
+
+        /**
+         * 다음 레코드 (파일 끝이면 null)
+         */
+        private List<String> next() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("CSV 큰따옴표가 닫히지 않았습니다 (" + recordLine + "행)");
+                    }
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            read();
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r' && peek() == '\n') {
+                        read();
+                    }
+                    if (c != -1) {
+                        line++;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+    }
+}
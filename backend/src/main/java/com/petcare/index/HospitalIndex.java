@@ -0,0 +1,254 @@
+package com.petcare.index;
+
+import com.petcare.model.Hospital;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 병원 데이터 스냅샷 + 조회용 인덱스 (병원 데이터가 바뀌면 새로 만들어 통째로 교체, 만든 뒤에는 변경하지 않음)
+ * 병원 값은 저장소 객체와 공유하지 않는 열 저장소(HospitalStore)에 보관하고, 응답용 객체는 get(...)으로 만듭니다.
+ * 병원은 목록 순서의 ordinal(0..n-1)로 가리키며, 좌표는 k-d 트리로 색인합니다.
+ * 진료과/도시/진료시간은 값별 ordinal 비트셋(역색인)으로 두어 필터를 비트 AND/OR로 조합합니다.
+ * 조회 메서드가 돌려주는 비트셋은 복사본이므로 호출자가 바꿔도 됩니다.
+ */
+public final class HospitalIndex {
+
+    private final long version;
+    private final Instant builtAt = Instant.now();
+    private final HospitalStore store;
+    private final KdTree spatial;
+    private final int[] unlocated; // 좌표가 없는 병원 ordinal
+    private final Map<String, Integer> byId = new HashMap<>();
+    private final Map<String, BitSet> byDepartment = new HashMap<>();
+    private final Map<String, BitSet> byCity = new HashMap<>();
+    private final BitSet[] byOperatingHours; // 진료시간 사전 코드별 (종류가 적음)
+    private final OpeningHours[] schedules; // 진료시간 사전 코드별 주간 비트맵 (알 수 없는 형식은 null)
+
+    public HospitalIndex(List<Hospital> hospitals, long version) {
+        this(HospitalStore.of(hospitals), version);
+    }
+
+    public HospitalIndex(HospitalStore store, long version) {
+        this.version = version;
+        this.store = store;
+        int n = store.size();
+        int[] missing = new int[n];
+        int missingCount = 0;
+        // 사전 코드별로 먼저 모은 뒤 값 → 비트셋으로 옮김 (병원마다 문자열 해시를 계산하지 않음)
+        BitSet[] cityPostings = new BitSet[store.cityCount()];
+        BitSet[] hoursPostings = new BitSet[store.operatingHoursCount()];
+        BitSet[] departmentPostings = new BitSet[store.departmentSetCount()];
+        for (int i = 0; i < n; i++) {
+            String id = store.id(i);
+            if (id != null) {
+                byId.putIfAbsent(id, i);
+            }
+            if (Double.isNaN(store.latitude(i)) || Double.isNaN(store.longitude(i))) {
+                missing[missingCount++] = i;
+            }
+            addPosting(cityPostings, store.cityCode(i), i);
+            addPosting(hoursPostings, store.operatingHoursCode(i), i);
+            addPosting(departmentPostings, store.departmentSetCode(i), i);
+        }
+        for (int code = 0; code < cityPostings.length; code++) {
+            byCity.put(store.cityOf(code), cityPostings[code]);
+        }
+        this.byOperatingHours = hoursPostings;
+        this.schedules = new OpeningHours[hoursPostings.length];
+        for (int code = 0; code < schedules.length; code++) {
+            schedules[code] = OpeningHours.parse(store.operatingHoursOf(code));
+        }
+        for (int code = 0; code < departmentPostings.length; code++) {
+            for (String department : store.departmentSetOf(code)) {
+                if (department != null) {
+                    byDepartment.computeIfAbsent(department, d -> new BitSet(n)).or(departmentPostings[code]);
+                }
+            }
+        }
+        this.spatial = new KdTree(store.latitudes(), store.longitudes());
+        this.unlocated = Arrays.copyOf(missing, missingCount);
+    }
+
+    private static void addPosting(BitSet[] postings, int code, int ordinal) {
+        if (code >= 0) {
+            if (postings[code] == null) {
+                postings[code] = new BitSet();
+            }
+            postings[code].set(ordinal);
+        }
+    }
+
+    /**
+     * 스냅샷 버전 (다시 만들 때마다 1씩 증가)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * 응답용 병원 객체 (호출할 때마다 새로 만듦)
+     */
+    public Hospital get(int ordinal) {
+        return store.hospital(ordinal, null);
+    }
+
+    /**
+     * 요청별 거리를 채운 응답용 병원 객체
+     */
+    public Hospital get(int ordinal, Double distanceKm) {
+        return store.hospital(ordinal, distanceKm);
+    }
+
+    /**
+     * id의 ordinal (없으면 -1)
+     */
+    public int ordinalOf(String id) {
+        Integer ordinal = byId.get(id);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public HospitalStore getStore() {
+        return store;
+    }
+
+    public KdTree getSpatial() {
+        return spatial;
+    }
+
+    /**
+     * 전체 병원 ordinal
+     */
+    public BitSet all() {
+        BitSet bits = new BitSet(store.size());
+        bits.set(0, store.size());
+        return bits;
+    }
+
+    /**
+     * 진료과가 있는 병원 ordinal
+     */
+    public BitSet department(String department) {
+        BitSet bits = byDepartment.get(department);
+        return bits != null ? (BitSet) bits.clone() : new BitSet();
+    }
+
+    /**
+     * 여러 진료과 조합 (matchAll이면 모두 있는 병원, 아니면 하나라도 있는 병원)
+     */
+    public BitSet departments(Collection<String> departments, boolean matchAll) {
+        BitSet result = null;
+        for (String department : departments) {
+            BitSet bits = byDepartment.get(department);
+            if (bits == null) {
+                if (matchAll) {
+                    return new BitSet();
+                }
+                continue;
+            }
+            if (result == null) {
+                result = (BitSet) bits.clone();
+            } else if (matchAll) {
+                result.and(bits);
+            } else {
+                result.or(bits);
+            }
+        }
+        return result != null ? result : new BitSet();
+    }
+
+    /**
+     * 진료과 보유 여부 (ordinal 기준)
+     */
+    public boolean hasDepartment(int ordinal, String department) {
+        BitSet bits = byDepartment.get(department);
+        return bits != null && bits.get(ordinal);
+    }
+
+    /**
+     * 도시(병원 city 값과 정확히 일치)에 있는 병원 ordinal
+     */
+    public BitSet city(String city) {
+        BitSet bits = byCity.get(city);
+        return bits != null ? (BitSet) bits.clone() : new BitSet();
+    }
+
+    /**
+     * 병원 city 값 목록 (city(...) 조회 키)
+     */
+    public Set<String> cities() {
+        return Collections.unmodifiableSet(byCity.keySet());
+    }
+
+    /**
+     * 주어진 시각(병원 시간대 기준)에 진료 중인 병원 ordinal (OpeningHours 형식 참고)
+     * 형식을 알 수 없는 진료시간은 진료 중이 아닌 것으로 봅니다.
+     */
+    public BitSet openAt(LocalDateTime time) {
+        int minute = OpeningHours.minuteOfWeek(time);
+        BitSet result = new BitSet();
+        for (int code = 0; code < schedules.length; code++) {
+            if (schedules[code] != null && schedules[code].isOpenAt(minute)) {
+                result.or(byOperatingHours[code]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 주어진 시각에 진료 중인 진료시간 사전 코드 (진료 중 병원 집합이 같은지 비교할 때 사용)
+     */
+    public BitSet openScheduleCodesAt(LocalDateTime time) {
+        int minute = OpeningHours.minuteOfWeek(time);
+        BitSet result = new BitSet(schedules.length);
+        for (int code = 0; code < schedules.length; code++) {
+            if (schedules[code] != null && schedules[code].isOpenAt(minute)) {
+                result.set(code);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 병원 하나가 진료 중인지 (비트 하나만 확인)
+     */
+    public boolean isOpenAt(int ordinal, LocalDateTime time) {
+        int code = store.operatingHoursCode(ordinal);
+        return code >= 0 && schedules[code] != null && schedules[code].isOpenAt(OpeningHours.minuteOfWeek(time));
+    }
+
+    /**
+     * 비트셋의 병원 목록 (ordinal 순서 = 저장소 순서)
+     */
+    public List<Hospital> hospitalsOf(BitSet ordinals) {
+        List<Hospital> result = new ArrayList<>(ordinals.cardinality());
+        for (int i = ordinals.nextSetBit(0); i >= 0 && i < store.size(); i = ordinals.nextSetBit(i + 1)) {
+            result.add(store.hospital(i, null));
+        }
+        return result;
+    }
+
+    /**
+     * 좌표가 없는 병원 ordinal (거리 검색 결과에 포함되지 않음)
+     */
+    public int[] getUnlocated() {
+        return unlocated.clone();
+    }
+}
@@ -0,0 +1,292 @@
+package com.petcare.index;
+
+import com.petcare.model.Hospital;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * 요청별 병원 순위 계산 (스냅샷은 읽기만 하고, 결과는 요청별 배열에 기록)
+ *
+ * 점수 = 실제 거리(km), 추천 진료과가 있으면 departmentFactor를 곱함 (작을수록 앞).
+ * k개 최근접의 최대 점수를 넘을 수 없는 반경(최대 점수 / departmentFactor)까지만 후보를 모으고,
+ * 후보의 점수·거리는 요청마다 만든 기본형 배열에 기록한 뒤 크기 k의 힙으로 상위 k개만 고릅니다.
+ * 결과는 전체 병원을 (점수, 거리, ordinal) 순으로 정렬한 앞부분과 같습니다.
+ * 진료과를 모르는 시점에는 candidates(...)로 위치 기반 후보만 먼저 구하고, 진료과가 정해지면 가중치만 적용할 수 있습니다.
+ * 좌표가 없는 병원은 자리가 남을 때만 뒤에 붙습니다.
+ */
+public final class HospitalRanker {
+
+    private HospitalRanker() {
+    }
+
+    /**
+     * @param department       추천 진료과 (null이면 거리만 사용)
+     * @param departmentFactor 추천 진료과가 있는 병원의 거리 가중치 (0 초과 1 이하)
+     * @param filter           후보 병원 ordinal 조건 (null이면 전체)
+     */
+    public static Ranking rank(HospitalIndex index, double latitude, double longitude, int k,
+                               String department, double departmentFactor, IntPredicate filter) {
+        if (k <= 0) {
+            return new Ranking(index, new int[0], new double[0], new double[0], 0);
+        }
+        KdTree spatial = index.getSpatial();
+        KdTree.Neighbors candidates = spatial.nearest(latitude, longitude, k, filter);
+        if (department != null && candidates.size() == k) {
+            double worstScore = 0;
+            for (int i = 0; i < candidates.size(); i++) {
+                worstScore = Math.max(worstScore, score(index, candidates.ordinal(i), candidates.distanceKm(i),
+                        department, departmentFactor));
+            }
+            if (worstScore > 0) {
+                // 경계 값의 반올림 오차로 후보가 빠지지 않도록 반경을 아주 조금 넓힘
+                double radiusKm = worstScore / departmentFactor * (1 + 1e-9);
+                candidates = spatial.withinRadius(latitude, longitude, radiusKm, filter);
+            }
+        }
+        return select(index, candidates, k, department, departmentFactor, filter);
+    }
+
+    /**
+     * 진료과와 무관한 후보 (k번째로 가까운 거리 / departmentFactor 반경 안의 병원 전부)
+     * 어떤 진료과로 순위를 매겨도 k번째 점수는 k번째 거리 이하이므로 상위 k개는 모두 이 반경 안에 있습니다.
+     * 진료과가 정해지기 전에 미리 구해 두고 Candidates.rank(진료과)로 rank(...)와 같은 결과를 얻습니다.
+     */
+    public static Candidates candidates(HospitalIndex index, double latitude, double longitude, int k,
+                                        double departmentFactor, IntPredicate filter) {
+        KdTree spatial = index.getSpatial();
+        KdTree.Neighbors neighbors = spatial.nearest(latitude, longitude, Math.max(k, 0), filter);
+        if (k > 0 && neighbors.size() == k && departmentFactor < 1) {
+            double kthDistance = 0;
+            for (int i = 0; i < neighbors.size(); i++) {
+                kthDistance = Math.max(kthDistance, neighbors.distanceKm(i));
+            }
+            if (kthDistance > 0) {
+                neighbors = spatial.withinRadius(latitude, longitude, kthDistance / departmentFactor * (1 + 1e-9), filter);
+            }
+        }
+        return new Candidates(index, neighbors, k, departmentFactor, filter);
+    }
+
+    private static Ranking select(HospitalIndex index, KdTree.Neighbors candidates, int k,
+                                  String department, double departmentFactor, IntPredicate filter) {
+        if (k <= 0) {
+            return new Ranking(index, new int[0], new double[0], new double[0], 0);
+        }
+        int n = candidates.size();
+        double[] scores = new double[n];
+        double[] distances = new double[n];
+        int[] ordinals = new int[n];
+        for (int i = 0; i < n; i++) {
+            ordinals[i] = candidates.ordinal(i);
+            distances[i] = candidates.distanceKm(i);
+            scores[i] = score(index, ordinals[i], distances[i], department, departmentFactor);
+        }
+
+        // 크기 k 최대 힙 (가장 뒤 순위가 루트)으로 상위 k개 후보 위치 선택
+        int[] heap = new int[Math.min(k, n)];
+        int heapSize = 0;
+        for (int i = 0; i < n; i++) {
+            if (heapSize < heap.length) {
+                heap[heapSize++] = i;
+                siftUp(heap, heapSize - 1, scores, distances, ordinals);
+            } else if (ranksBefore(i, heap[0], scores, distances, ordinals)) {
+                heap[0] = i;
+                siftDown(heap, heapSize, scores, distances, ordinals);
+            }
+        }
+
+        int[] unlocated = index.getUnlocated();
+        int capacity = heapSize + Math.min(k - heapSize, unlocated.length);
+        int[] resultOrdinals = new int[capacity];
+        double[] resultDistances = new double[capacity];
+        double[] resultScores = new double[capacity];
+        for (int last = heapSize - 1; last >= 0; last--) {
+            int top = heap[0];
+            resultOrdinals[last] = ordinals[top];
+            resultDistances[last] = distances[top];
+            resultScores[last] = scores[top];
+            heap[0] = heap[last];
+            siftDown(heap, last, scores, distances, ordinals);
+        }
+        int size = heapSize;
+        for (int ordinal : unlocated) {
+            if (size >= capacity) {
+                break;
+            }
+            if (filter == null || filter.test(ordinal)) {
+                resultOrdinals[size] = ordinal;
+                resultDistances[size] = Double.NaN;
+                resultScores[size] = Double.POSITIVE_INFINITY;
+                size++;
+            }
+        }
+        return new Ranking(index, resultOrdinals, resultDistances, resultScores, size);
+    }
+
+    private static double score(HospitalIndex index, int ordinal, double distanceKm,
+                                String department, double departmentFactor) {
+        if (department != null && index.hasDepartment(ordinal, department)) {
+            return distanceKm * departmentFactor;
+        }
+        return distanceKm;
+    }
+
+    /**
+     * 후보 a가 b보다 앞 순위인지 (점수 → 실제 거리 → ordinal)
+     */
+    private static boolean ranksBefore(int a, int b, double[] scores, double[] distances, int[] ordinals) {
+        if (scores[a] != scores[b]) {
+            return scores[a] < scores[b];
+        }
+        if (distances[a] != distances[b]) {
+            return distances[a] < distances[b];
+        }
+        return ordinals[a] < ordinals[b];
+    }
+
+    private static void siftUp(int[] heap, int i, double[] scores, double[] distances, int[] ordinals) {
+        int item = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!ranksBefore(heap[parent], item, scores, distances, ordinals)) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, double[] scores, double[] distances, int[] ordinals) {
+        if (size == 0) {
+            return;
+        }
+        int item = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksBefore(heap[child], heap[child + 1], scores, distances, ordinals)) {
+                child++;
+            }
+            if (!ranksBefore(item, heap[child], scores, distances, ordinals)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = item;
+    }
+
+    /**
+     * 진료과 가중치를 적용하기 전의 위치 기반 후보 (candidates(...) 결과, 만든 뒤 변경하지 않음)
+     */
+    public static final class Candidates {
+        private final HospitalIndex index;
+        private final KdTree.Neighbors neighbors;
+        private final int k;
+        private final double departmentFactor;
+        private final IntPredicate filter;
+
+        private Candidates(HospitalIndex index, KdTree.Neighbors neighbors, int k, double departmentFactor,
+                           IntPredicate filter) {
+            this.index = index;
+            this.neighbors = neighbors;
+            this.k = k;
+            this.departmentFactor = departmentFactor;
+            this.filter = filter;
+        }
+
+        /**
+         * 상위 k개 (rank(...)에 같은 위치·조건·진료과를 넘긴 결과와 같음)
+         */
+        public Ranking rank(String department) {
+            return select(index, neighbors, k, department, departmentFactor, filter);
+        }
+
+        /**
+         * 조건에 맞는 병원이 하나도 없는지 (좌표가 없는 병원 포함)
+         */
+        public boolean isEmpty() {
+            if (neighbors.size() > 0) {
+                return false;
+            }
+            for (int ordinal : index.getUnlocated()) {
+                if (filter == null || filter.test(ordinal)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 좌표가 있는 후보 수
+         */
+        public int size() {
+            return neighbors.size();
+        }
+    }
+
+    /**
+     * 순위 결과 (앞 순위부터, 스냅샷 ordinal과 요청별 거리/점수)
+     */
+    public static final class Ranking {
+        private final HospitalIndex index;
+        private final int[] ordinals;
+        private final double[] distancesKm;
+        private final double[] scores;
+        private final int size;
+
+        private Ranking(HospitalIndex index, int[] ordinals, double[] distancesKm, double[] scores, int size) {
+            this.index = index;
+            this.ordinals = ordinals;
+            this.distancesKm = distancesKm;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int ordinal(int i) {
+            return ordinals[i];
+        }
+
+        /**
+         * 병원 객체 (거리 없이, 호출할 때마다 새로 만듦)
+         */
+        public Hospital hospital(int i) {
+            return index.get(ordinals[i]);
+        }
+
+        /**
+         * 실제 거리 (좌표가 없는 병원은 NaN)
+         */
+        public double distanceKm(int i) {
+            return distancesKm[i];
+        }
+
+        /**
+         * 순위 점수 (좌표가 없는 병원은 무한대)
+         */
+        public double score(int i) {
+            return scores[i];
+        }
+
+        /**
+         * 응답용 병원 목록 (실제 거리를 채운 복사본, 좌표가 없으면 distanceKm = null)
+         */
+        public List<Hospital> toHospitals() {
+            List<Hospital> hospitals = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                hospitals.add(index.get(ordinals[i], Double.isNaN(distancesKm[i]) ? null : distancesKm[i]));
+            }
+            return hospitals;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.petcare.index;
+
+import com.petcare.model.Hospital;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 병원 데이터의 열(column) 저장소 (만든 뒤에는 변경하지 않음)
+ *
+ * 병원마다 객체를 두지 않고 필드별 배열에 ordinal 순서로 보관합니다.
+ * 좌표는 기본형 double(없으면 NaN), 도시/진료시간/진료과 목록은 사전 코드(int)로 저장해
+ * 같은 문자열과 목록을 모든 병원이 공유합니다. (10만 건이어도 도시·진료과 종류는 수백 개 수준)
+ * Hospital 객체는 응답을 만들 때 hospital(ordinal)로 그때그때 만들어 씁니다.
+ */
+public final class HospitalStore {
+
+    private final int size;
+    private final String[] ids;
+    private final String[] names;
+    private final String[] addresses;
+    private final String[] phones;
+    private final String[] descriptions;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] cityCodes;       // -1이면 없음
+    private final int[] hoursCodes;      // -1이면 없음
+    private final int[] departmentCodes; // 진료과 목록 코드, -1이면 없음
+    private final String[] cities;
+    private final String[] operatingHours;
+    private final List<List<String>> departmentSets; // 코드 → 공유하는 불변 목록
+
+    private HospitalStore(Builder builder) {
+        size = builder.size;
+        ids = Arrays.copyOf(builder.ids, size);
+        names = Arrays.copyOf(builder.names, size);
+        addresses = Arrays.copyOf(builder.addresses, size);
+        phones = Arrays.copyOf(builder.phones, size);
+        descriptions = Arrays.copyOf(builder.descriptions, size);
+        latitudes = Arrays.copyOf(builder.latitudes, size);
+        longitudes = Arrays.copyOf(builder.longitudes, size);
+        cityCodes = Arrays.copyOf(builder.cityCodes, size);
+        hoursCodes = Arrays.copyOf(builder.hoursCodes, size);
+        departmentCodes = Arrays.copyOf(builder.departmentCodes, size);
+        cities = builder.cities.values.toArray(new String[0]);
+        operatingHours = builder.operatingHours.values.toArray(new String[0]);
+        departmentSets = Collections.unmodifiableList(new ArrayList<>(builder.departmentSets.values));
+    }
+
+    /**
+     * 병원 목록으로 만들기 (병원 객체는 참조하지 않고 값만 복사)
+     */
+    public static HospitalStore of(Collection<Hospital> hospitals) {
+        Builder builder = new Builder();
+        for (Hospital hospital : hospitals) {
+            builder.add(hospital);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String id(int ordinal) {
+        return ids[ordinal];
+    }
+
+    /**
+     * 위도 (없으면 NaN)
+     */
+    public double latitude(int ordinal) {
+        return latitudes[ordinal];
+    }
+
+    /**
+     * 경도 (없으면 NaN)
+     */
+    public double longitude(int ordinal) {
+        return longitudes[ordinal];
+    }
+
+    public String city(int ordinal) {
+        return cityCodes[ordinal] >= 0 ? cities[cityCodes[ordinal]] : null;
+    }
+
+    public String operatingHours(int ordinal) {
+        return hoursCodes[ordinal] >= 0 ? operatingHours[hoursCodes[ordinal]] : null;
+    }
+
+    /**
+     * 진료과 목록 (다른 병원과 공유하는 불변 목록, 없으면 null)
+     */
+    public List<String> departments(int ordinal) {
+        return departmentCodes[ordinal] >= 0 ? departmentSets.get(departmentCodes[ordinal]) : null;
+    }
+
+    /**
+     * 도시 사전 코드 (없으면 -1, cityOf(code)로 값 조회)
+     */
+    public int cityCode(int ordinal) {
+        return cityCodes[ordinal];
+    }
+
+    public String cityOf(int code) {
+        return cities[code];
+    }
+
+    public int cityCount() {
+        return cities.length;
+    }
+
+    /**
+     * 진료시간 사전 코드 (없으면 -1, operatingHoursOf(code)로 값 조회)
+     */
+    public int operatingHoursCode(int ordinal) {
+        return hoursCodes[ordinal];
+    }
+
+    public String operatingHoursOf(int code) {
+        return operatingHours[code];
+    }
+
+    public int operatingHoursCount() {
+        return operatingHours.length;
+    }
+
+    /**
+     * 진료과 목록 사전 코드 (없으면 -1, departmentSetOf(code)로 값 조회)
+     */
+    public int departmentSetCode(int ordinal) {
+        return departmentCodes[ordinal];
+    }
+
+    public List<String> departmentSetOf(int code) {
+        return departmentSets.get(code);
+    }
+
+    public int departmentSetCount() {
+        return departmentSets.size();
+    }
+
+    double[] latitudes() {
+        return latitudes;
+    }
+
+    double[] longitudes() {
+        return longitudes;
+    }
+
+    /**
+     * 응답용 Hospital 객체 (호출할 때마다 새로 만듦, 문자열과 진료과 목록은 저장소와 공유)
+     */
+    public Hospital hospital(int ordinal, Double distanceKm) {
+        return new Hospital(ids[ordinal], names[ordinal], addresses[ordinal], city(ordinal),
+                Double.isNaN(latitudes[ordinal]) ? null : latitudes[ordinal],
+                Double.isNaN(longitudes[ordinal]) ? null : longitudes[ordinal],
+                departments(ordinal), operatingHours(ordinal), phones[ordinal], descriptions[ordinal], distanceKm);
+    }
+
+    /**
+     * 전체 병원을 순서대로 보여 주는 목록 (원소는 꺼낼 때 만들어지므로 스트리밍 직렬화에 사용)
+     */
+    public List<Hospital> view() {
+        return new AbstractList<>() {
+            @Override
+            public Hospital get(int index) {
+                return hospital(index, null);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * 병원을 한 건씩 추가해 저장소 만들기 (스트리밍 가져오기에서 사용)
+     */
+    public static final class Builder {
+        private int size;
+        private String[] ids = new String[64];
+        private String[] names = new String[64];
+        private String[] addresses = new String[64];
+        private String[] phones = new String[64];
+        private String[] descriptions = new String[64];
+        private double[] latitudes = new double[64];
+        private double[] longitudes = new double[64];
+        private int[] cityCodes = new int[64];
+        private int[] hoursCodes = new int[64];
+        private int[] departmentCodes = new int[64];
+        private final Dictionary<String> cities = new Dictionary<>();
+        private final Dictionary<String> operatingHours = new Dictionary<>();
+        private final Dictionary<String> departmentNames = new Dictionary<>();
+        private final Dictionary<List<String>> departmentSets = new Dictionary<>();
+
+        public Builder add(Hospital hospital) {
+            return add(hospital.getId(), hospital.getName(), hospital.getAddress(), hospital.getCity(),
+                    hospital.getLatitude(), hospital.getLongitude(), hospital.getDepartments(),
+                    hospital.getOperatingHours(), hospital.getPhone(), hospital.getDescription());
+        }
+
+        public Builder add(String id, String name, String address, String city, Double latitude, Double longitude,
+                           List<String> departments, String hours, String phone, String description) {
+            if (size == ids.length) {
+                grow();
+            }
+            ids[size] = id;
+            names[size] = name;
+            addresses[size] = address;
+            phones[size] = phone;
+            descriptions[size] = description;
+            latitudes[size] = latitude != null ? latitude : Double.NaN;
+            longitudes[size] = longitude != null ? longitude : Double.NaN;
+            cityCodes[size] = city != null ? cities.code(city) : -1;
+            hoursCodes[size] = hours != null ? operatingHours.code(hours) : -1;
+            departmentCodes[size] = departments != null ? departmentSets.code(intern(departments)) : -1;
+            size++;
+            return this;
+        }
+
+        private List<String> intern(List<String> departments) {
+            List<String> names = new ArrayList<>(departments.size());
+            for (String department : departments) {
+                names.add(department != null ? departmentNames.value(department) : null);
+            }
+            return Collections.unmodifiableList(names);
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            addresses = Arrays.copyOf(addresses, capacity);
+            phones = Arrays.copyOf(phones, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            cityCodes = Arrays.copyOf(cityCodes, capacity);
+            hoursCodes = Arrays.copyOf(hoursCodes, capacity);
+            departmentCodes = Arrays.copyOf(departmentCodes, capacity);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public HospitalStore build() {
+            return new HospitalStore(this);
+        }
+    }
+
+    /**
+     * 값 → 코드 사전 (처음 나온 순서대로 0, 1, 2, ...)
+     */
+    private static final class Dictionary<T> {
+        private final Map<T, Integer> codes = new HashMap<>();
+        private final List<T> values = new ArrayList<>();
+
+        private int code(T value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        /**
+         * 같은 값이 이미 있으면 그 인스턴스를 돌려줌
+         */
+        private T value(T value) {
+            return values.get(code(value));
+        }
+    }
+}
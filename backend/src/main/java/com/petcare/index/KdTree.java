@@ -0,0 +1,401 @@
+package com.petcare.index;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * 위경도 좌표용 k-d 트리 (최근접 k개 / 반경 검색)
+ *
+ * 좌표를 단위 구 위의 3차원 벡터로 바꿔 저장하므로, 유클리드(현) 거리의 대소가
+ * 대원 거리(Haversine)의 대소와 정확히 일치합니다. 결과 거리는 km로 변환해 돌려줍니다.
+ * 트리는 정렬된 ordinal 배열 하나로 표현하며(구간의 가운데가 노드), 만든 뒤에는 변경하지 않습니다.
+ * 좌표도 같은 트리 순서의 GeoPoints에 두어, LEAF_SIZE 이하의 잎 구간은 연속 배열 한 번의 루프로 거리를 계산합니다.
+ * 좌표가 NaN인 ordinal은 색인하지 않습니다.
+ */
+public final class KdTree {
+
+    private static final int LEAF_SIZE = 16;
+
+    private final GeoPoints points;  // 트리 위치 순서의 좌표
+    private final double[][] coords; // [축][트리 위치] (points의 배열)
+    private final int[] tree;        // 노드 순서로 정렬된 ordinal
+    private final byte[] axes;       // 노드(tree 위치)별 분할 축
+    private final int[] positions;   // ordinal → 트리 위치 (좌표가 없으면 -1)
+
+    public KdTree(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        GeoPoints all = new GeoPoints(latitudes, longitudes);
+        int[] ordinals = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (!Double.isNaN(latitudes[i]) && !Double.isNaN(longitudes[i])) {
+                ordinals[count++] = i;
+            }
+        }
+        tree = Arrays.copyOf(ordinals, count);
+        axes = new byte[count];
+        build(0, count, new double[][]{all.x, all.y, all.z});
+
+        double[] x = new double[count];
+        double[] y = new double[count];
+        double[] z = new double[count];
+        positions = new int[n];
+        Arrays.fill(positions, -1);
+        for (int pos = 0; pos < count; pos++) {
+            int ordinal = tree[pos];
+            x[pos] = all.x[ordinal];
+            y[pos] = all.y[ordinal];
+            z[pos] = all.z[ordinal];
+            positions[ordinal] = pos;
+        }
+        points = new GeoPoints(x, y, z);
+        coords = new double[][]{x, y, z};
+    }
+
+    /**
+     * 색인된 좌표 수
+     */
+    public int size() {
+        return tree.length;
+    }
+
+    /**
+     * 가까운 순으로 최대 k개 (filter가 null이면 전체 대상, 거리가 같으면 ordinal 순)
+     */
+    public Neighbors nearest(double latitude, double longitude, int k, IntPredicate filter) {
+        return nearest(latitude, longitude, k, Double.POSITIVE_INFINITY, filter);
+    }
+
+    /**
+     * 반경 radiusKm 이내에서 가까운 순으로 최대 k개 (filter가 null이면 전체 대상)
+     */
+    public Neighbors nearest(double latitude, double longitude, int k, double radiusKm, IntPredicate filter) {
+        if (k <= 0 || tree.length == 0) {
+            return new Neighbors(new int[0], new double[0]);
+        }
+        double[] q = GeoPoints.unitVector(latitude, longitude);
+        Heap heap = new Heap(Math.min(k, tree.length), GeoPoints.chordSquaredOfKm(radiusKm));
+        nearest(0, tree.length, q, filter, heap, new double[LEAF_SIZE]);
+        return heap.drainSorted();
+    }
+
+    /**
+     * 한 좌표까지의 거리(km, 검색 결과와 같은 계산) - 좌표가 없는 ordinal이면 NaN
+     */
+    public double distanceKm(double latitude, double longitude, int ordinal) {
+        int pos = positions[ordinal];
+        if (pos < 0) {
+            return Double.NaN;
+        }
+        return GeoPoints.kmOfChordSquared(points.chordSquared(GeoPoints.unitVector(latitude, longitude), pos));
+    }
+
+    /**
+     * 반경 radiusKm 이내 좌표를 가까운 순으로 (filter가 null이면 전체 대상)
+     */
+    public Neighbors withinRadius(double latitude, double longitude, double radiusKm, IntPredicate filter) {
+        double[] q = GeoPoints.unitVector(latitude, longitude);
+        Collector collector = new Collector(GeoPoints.chordSquaredOfKm(radiusKm));
+        withinRadius(0, tree.length, q, filter, collector, new double[LEAF_SIZE]);
+        return collector.sorted();
+    }
+
+    private void build(int lo, int hi, double[][] byOrdinal) {
+        if (hi - lo <= LEAF_SIZE) {
+            return;
+        }
+        int axis = widestAxis(lo, hi, byOrdinal);
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, byOrdinal[axis]);
+        axes[mid] = (byte) axis;
+        build(lo, mid, byOrdinal);
+        build(mid + 1, hi, byOrdinal);
+    }
+
+    private int widestAxis(int lo, int hi, double[][] byOrdinal) {
+        int best = 0;
+        double bestSpread = -1;
+        for (int axis = 0; axis < 3; axis++) {
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            double[] values = byOrdinal[axis];
+            for (int i = lo; i < hi; i++) {
+                double value = values[tree[i]];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > bestSpread) {
+                bestSpread = max - min;
+                best = axis;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * tree[lo..hi]에서 k번째 값이 제자리에 오도록 부분 정렬 (quickselect)
+     */
+    private void select(int lo, int hi, int k, double[] values) {
+        while (hi > lo) {
+            double pivot = values[tree[(lo + hi) >>> 1]];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (values[tree[i]] < pivot) {
+                    i++;
+                }
+                while (values[tree[j]] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int tmp = tree[i];
+                    tree[i] = tree[j];
+                    tree[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void nearest(int lo, int hi, double[] q, IntPredicate filter, Heap heap, double[] leaf) {
+        if (hi - lo <= LEAF_SIZE) {
+            points.chordSquared(q, lo, hi, leaf);
+            for (int pos = lo; pos < hi; pos++) {
+                double d2 = leaf[pos - lo];
+                if (d2 <= heap.reach() && (filter == null || filter.test(tree[pos]))) {
+                    heap.offer(tree[pos], d2);
+                }
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double d2 = points.chordSquared(q, mid);
+        if (d2 <= heap.reach() && (filter == null || filter.test(tree[mid]))) {
+            heap.offer(tree[mid], d2);
+        }
+        int axis = axes[mid];
+        double diff = q[axis] - coords[axis][mid];
+        if (diff < 0) {
+            nearest(lo, mid, q, filter, heap, leaf);
+            if (diff * diff <= heap.reach()) {
+                nearest(mid + 1, hi, q, filter, heap, leaf);
+            }
+        } else {
+            nearest(mid + 1, hi, q, filter, heap, leaf);
+            if (diff * diff <= heap.reach()) {
+                nearest(lo, mid, q, filter, heap, leaf);
+            }
+        }
+    }
+
+    private void withinRadius(int lo, int hi, double[] q, IntPredicate filter, Collector collector, double[] leaf) {
+        if (hi - lo <= LEAF_SIZE) {
+            points.chordSquared(q, lo, hi, leaf);
+            for (int pos = lo; pos < hi; pos++) {
+                double d2 = leaf[pos - lo];
+                if (d2 <= collector.limit && (filter == null || filter.test(tree[pos]))) {
+                    collector.add(tree[pos], d2);
+                }
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double d2 = points.chordSquared(q, mid);
+        if (d2 <= collector.limit && (filter == null || filter.test(tree[mid]))) {
+            collector.add(tree[mid], d2);
+        }
+        int axis = axes[mid];
+        double diff = q[axis] - coords[axis][mid];
+        if (diff < 0 || diff * diff <= collector.limit) {
+            withinRadius(lo, mid, q, filter, collector, leaf);
+        }
+        if (diff >= 0 || diff * diff <= collector.limit) {
+            withinRadius(mid + 1, hi, q, filter, collector, leaf);
+        }
+    }
+
+    /**
+     * 검색 결과 (가까운 순, ordinal과 km 거리)
+     */
+    public static final class Neighbors {
+        private final int[] ordinals;
+        private final double[] distancesKm;
+
+        private Neighbors(int[] ordinals, double[] distancesKm) {
+            this.ordinals = ordinals;
+            this.distancesKm = distancesKm;
+        }
+
+        public int size() {
+            return ordinals.length;
+        }
+
+        public int ordinal(int i) {
+            return ordinals[i];
+        }
+
+        public double distanceKm(int i) {
+            return distancesKm[i];
+        }
+    }
+
+    /**
+     * 크기 제한 최대 힙 (가장 먼 후보가 루트, 같은 거리면 ordinal 순)
+     */
+    private static final class Heap {
+        private final int[] ordinals;
+        private final double[] keys;
+        private final double limit; // 반경 (현 길이 제곱)
+        private int size;
+
+        private Heap(int capacity, double limit) {
+            ordinals = new int[capacity];
+            keys = new double[capacity];
+            this.limit = limit;
+        }
+
+        /**
+         * 후보가 되려면 이 값 이하여야 함 (다 차면 가장 먼 후보, 아니면 반경)
+         */
+        private double reach() {
+            return size == keys.length ? Math.min(keys[0], limit) : limit;
+        }
+
+        private void offer(int ordinal, double key) {
+            if (size < keys.length) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (!farther(key, ordinal, keys[parent], ordinals[parent])) {
+                        break;
+                    }
+                    keys[i] = keys[parent];
+                    ordinals[i] = ordinals[parent];
+                    i = parent;
+                }
+                keys[i] = key;
+                ordinals[i] = ordinal;
+            } else if (farther(keys[0], ordinals[0], key, ordinal)) {
+                siftDown(ordinal, key, size);
+            }
+        }
+
+        /**
+         * 거리가 같으면 ordinal이 큰 쪽을 더 먼 것으로 봄 (같은 거리의 결과 순서를 고정)
+         */
+        private static boolean farther(double key, int ordinal, double otherKey, int otherOrdinal) {
+            return key > otherKey || (key == otherKey && ordinal > otherOrdinal);
+        }
+
+        private void siftDown(int ordinal, double key, int length) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= length) {
+                    break;
+                }
+                if (child + 1 < length && farther(keys[child + 1], ordinals[child + 1], keys[child], ordinals[child])) {
+                    child++;
+                }
+                if (!farther(keys[child], ordinals[child], key, ordinal)) {
+                    break;
+                }
+                keys[i] = keys[child];
+                ordinals[i] = ordinals[child];
+                i = child;
+            }
+            keys[i] = key;
+            ordinals[i] = ordinal;
+        }
+
+        /**
+         * 힙 정렬로 가까운 순 결과 생성 (힙은 더 이상 사용하지 않음)
+         */
+        private Neighbors drainSorted() {
+            int n = size;
+            int[] resultOrdinals = new int[n];
+            double[] resultKm = new double[n];
+            for (int last = n - 1; last >= 0; last--) {
+                resultOrdinals[last] = ordinals[0];
+                resultKm[last] = GeoPoints.kmOfChordSquared(keys[0]);
+                siftDown(ordinals[last], keys[last], last);
+            }
+            return new Neighbors(resultOrdinals, resultKm);
+        }
+    }
+
+    /**
+     * 반경 검색 결과 수집
+     */
+    private static final class Collector {
+        private final double limit;
+        private int[] ordinals = new int[16];
+        private double[] keys = new double[16];
+        private int size;
+
+        private Collector(double limit) {
+            this.limit = limit;
+        }
+
+        private void add(int ordinal, double key) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            ordinals[size] = ordinal;
+            keys[size] = key;
+            size++;
+        }
+
+        private Neighbors sorted() {
+            sort(0, size - 1);
+            int[] resultOrdinals = Arrays.copyOf(ordinals, size);
+            double[] resultKm = new double[size];
+            for (int i = 0; i < size; i++) {
+                resultKm[i] = GeoPoints.kmOfChordSquared(keys[i]);
+            }
+            return new Neighbors(resultOrdinals, resultKm);
+        }
+
+        private void sort(int lo, int hi) {
+            while (lo < hi) {
+                double pivot = keys[(lo + hi) >>> 1];
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (keys[i] < pivot) {
+                        i++;
+                    }
+                    while (keys[j] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        double key = keys[i];
+                        keys[i] = keys[j];
+                        keys[j] = key;
+                        int ordinal = ordinals[i];
+                        ordinals[i] = ordinals[j];
+                        ordinals[j] = ordinal;
+                        i++;
+                        j--;
+                    }
+                }
+                if (j - lo < hi - i) {
+                    sort(lo, j);
+                    lo = i;
+                } else {
+                    sort(i, hi);
+                    hi = j;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.petcare.index;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주간 진료시간 (월요일 00:00부터의 분 단위 비트맵, 7 × 1440비트 = long 158개)
+ *
+ * 진료시간 문자열을 한 번만 해석해 두고, 진료 여부는 비트 하나로 확인합니다.
+ * 지원 형식 (쉼표·슬래시·세미콜론·줄바꿈으로 여러 구간):
+ *   "24시간", "09:00~19:00", "평일 09:00~19:00, 토 09:00~13:00, 일요일 휴무", "월-금 9:00-18:00", "22:00~02:00"
+ * 요일이 없으면 매일, 종료가 시작보다 이르면 다음 날로 넘어가는 구간이며, "휴무/휴진"인 요일에는 그날 시작하는 구간을 빼고 적용합니다.
+ * 만든 뒤에는 변경하지 않으므로 여러 스레드에서 함께 써도 됩니다.
+ */
+public final class OpeningHours {
+
+    // 병원 진료시간 문자열의 기준 시간대
+    public static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    public static final int MINUTES_PER_WEEK = 7 * 24 * 60;
+
+    private static final String DAY_NAMES = "월화수목금토일";
+    private static final int WEEKDAYS = 0b0011111;
+    private static final int WEEKEND = 0b1100000;
+    private static final int EVERY_DAY = 0b1111111;
+
+    private final long[] minutes = new long[(MINUTES_PER_WEEK + 63) / 64];
+
+    private OpeningHours() {
+    }
+
+    /**
+     * 진료시간 문자열 해석 (알 수 없는 형식이면 null)
+     */
+    public static OpeningHours parse(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        List<int[]> ranges = new ArrayList<>(); // {요일 비트, 시작 분, 종료 분}
+        int closedDays = 0;
+        int pendingDays = 0; // "토/일 10:00~14:00"처럼 시간 없이 나온 요일
+        boolean parsed = false;
+        for (String segment : text.split("[,/;\n]")) {
+            String compact = segment.replaceAll("\\s", "");
+            if (compact.isEmpty()) {
+                continue;
+            }
+            int timeStart = timeStart(compact);
+            int days = parseDays(compact.substring(0, timeStart));
+            if (days < 0) {
+                if (compact.contains("공휴일")) {
+                    continue; // 날짜를 알 수 없는 공휴일 조건은 무시
+                }
+                return null;
+            }
+            String time = compact.substring(timeStart);
+            if (time.isEmpty()) {
+                pendingDays |= days;
+                continue;
+            }
+            days |= pendingDays;
+            pendingDays = 0;
+            if (days == 0) {
+                days = EVERY_DAY;
+            }
+            if (time.startsWith("휴무") || time.startsWith("휴진")) {
+                closedDays |= days;
+                parsed = true;
+                continue;
+            }
+            int[] range = parseRange(time);
+            if (range == null) {
+                return null;
+            }
+            ranges.add(new int[]{days, range[0], range[1]});
+            parsed = true;
+        }
+        if (!parsed) {
+            return null;
+        }
+        OpeningHours hours = new OpeningHours();
+        for (int[] range : ranges) {
+            int days = range[0] & ~closedDays; // 휴무일에 시작하는 구간만 제외 (전날 밤에서 이어지는 구간은 유지)
+            for (int day = 0; day < 7; day++) {
+                if ((days & (1 << day)) != 0) {
+                    hours.open(day * 1440 + range[1], day * 1440 + range[2]);
+                }
+            }
+        }
+        return hours;
+    }
+
+    /**
+     * 진료 중인지 (minuteOfWeek: 월요일 00:00부터의 분)
+     */
+    public boolean isOpenAt(int minuteOfWeek) {
+        return (minutes[minuteOfWeek >>> 6] & (1L << minuteOfWeek)) != 0;
+    }
+
+    public boolean isOpenAt(LocalDateTime time) {
+        return isOpenAt(minuteOfWeek(time));
+    }
+
+    /**
+     * 병원 기준 시간대(ZONE)의 현재 시각
+     */
+    public static LocalDateTime now() {
+        return LocalDateTime.now(ZONE);
+    }
+
+    public static int minuteOfWeek(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue()) * 1440
+                + time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * [from, to) 분 구간을 진료 중으로 (주 끝을 넘으면 월요일로 이어짐)
+     */
+    private void open(int from, int to) {
+        for (int minute = from; minute < to; minute++) {
+            int m = minute % MINUTES_PER_WEEK;
+            minutes[m >>> 6] |= 1L << m;
+        }
+    }
+
+    private static int timeStart(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (Character.isDigit(c) || segment.startsWith("휴무", i) || segment.startsWith("휴진", i)) {
+                return i;
+            }
+        }
+        return segment.length();
+    }
+
+    /**
+     * 요일 표기 → 비트 (월=1, 화=2, ... 일=64, 없으면 0, 알 수 없으면 -1)
+     */
+    private static int parseDays(String text) {
+        String days = text.replace("요일", "").replace(":", "");
+        if (days.isEmpty()) {
+            return 0;
+        }
+        if (days.equals("매일") || days.equals("연중무휴")) {
+            return EVERY_DAY;
+        }
+        if (days.equals("평일") || days.equals("주중")) {
+            return WEEKDAYS;
+        }
+        if (days.equals("주말")) {
+            return WEEKEND;
+        }
+        int result = 0;
+        for (int i = 0; i < days.length(); i++) {
+            int day = DAY_NAMES.indexOf(days.charAt(i));
+            if (day < 0) {
+                return -1;
+            }
+            if (i + 2 < days.length() && (days.charAt(i + 1) == '~' || days.charAt(i + 1) == '-')) {
+                int last = DAY_NAMES.indexOf(days.charAt(i + 2));
+                if (last < 0) {
+                    return -1;
+                }
+                for (int d = day; ; d = (d + 1) % 7) {
+                    result |= 1 << d;
+                    if (d == last) {
+                        break;
+                    }
+                }
+                i += 2;
+            } else {
+                result |= 1 << day;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * "09:00~19:00" → {시작 분, 종료 분} (종료가 시작보다 이르면 다음 날, "24시간"은 0~1440)
+     */
+    private static int[] parseRange(String time) {
+        if (time.startsWith("24시간")) {
+            return new int[]{0, 1440};
+        }
+        String[] parts = time.split("[~-]");
+        if (parts.length != 2) {
+            return null;
+        }
+        int start = parseMinute(parts[0]);
+        int end = parseMinute(parts[1]);
+        if (start < 0 || end < 0) {
+            return null;
+        }
+        return new int[]{start, end <= start ? end + 1440 : end};
+    }
+
+    private static int parseMinute(String hhmm) {
+        String[] parts = hhmm.replace("시", ":").replace("분", "").split(":");
+        try {
+            int hour = Integer.parseInt(parts[0]);
+            int minute = parts.length > 1 && !parts[1].isEmpty() ? Integer.parseInt(parts[1]) : 0;
+            if (hour < 0 || hour > 24 || minute < 0 || minute >= 60) {
+                return -1;
+            }
+            return hour * 60 + minute;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
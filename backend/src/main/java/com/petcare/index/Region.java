@@ -0,0 +1,76 @@
+package com.petcare.index;
+
+/**
+ * 행정구역 (시/도 → 시/군/구 → 동)
+ * id는 전체 경로 (예: "대전광역시 유성구 궁동")
+ */
+public final class Region {
+
+    public static final int PROVINCE = 1; // 시/도
+    public static final int DISTRICT = 2; // 시/군/구
+    public static final int TOWN = 3;     // 동
+
+    private final String id;
+    private final String name;
+    private final int level;
+    private final Region parent;
+    private final double latitude;
+    private final double longitude;
+
+    Region(String name, Region parent, double latitude, double longitude) {
+        this.id = parent != null ? parent.id + " " + name : name;
+        this.name = name;
+        this.level = parent != null ? parent.level + 1 : PROVINCE;
+        this.parent = parent;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public Region getParent() {
+        return parent;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * 지정한 단계의 상위 지역 (자기 자신 포함, 더 위 단계면 null)
+     */
+    public Region ancestor(int ancestorLevel) {
+        Region region = this;
+        while (region != null && region.level > ancestorLevel) {
+            region = region.parent;
+        }
+        return region != null && region.level == ancestorLevel ? region : null;
+    }
+
+    /**
+     * other와 같거나 other 아래에 있는 지역인지
+     */
+    public boolean isWithin(Region other) {
+        Region ancestor = ancestor(other.level);
+        return ancestor != null && ancestor.id.equals(other.id);
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
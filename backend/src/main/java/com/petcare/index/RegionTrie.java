@@ -0,0 +1,211 @@
+package com.petcare.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 행정구역 이름 접두사 트리
+ *
+ * 상위 지역마다 하위 지역 이름(정식 이름 + 별칭)의 문자 트리를 두고, 주소를 앞에서부터 한 번 훑으면서
+ * 시/도 → 시/군/구 → 동 순으로 가장 긴 이름을 따라 내려갑니다. (예: "대전 유성구 궁동 123" → 대전광역시 유성구 궁동)
+ * 시/도 없이 시작하는 주소("유성구 궁동")는 전국에서 이름이 하나뿐인 시/군/구·동일 때만 찾습니다.
+ * 사전 형식은 resources/regions.tsv 참고. 만든 뒤에는 변경하지 않으므로 여러 스레드에서 함께 써도 됩니다.
+ */
+public final class RegionTrie {
+
+    private static final String[] SUFFIXES = {"구", "군", "시", "동", "읍", "면"};
+
+    private final Node provinces = new Node();
+    private final Node anywhere = new Node(); // 시/군/구·동 이름 (전국)
+    private final Map<String, Node> children = new HashMap<>();
+    private final Map<String, Region> regions = new HashMap<>();
+    private int size;
+
+    /**
+     * 사전 읽기 (전체 경로<TAB>위도<TAB>경도, 별칭은 =별칭<TAB>전체 경로, #은 주석)
+     */
+    public static RegionTrie load(Reader reader) throws IOException {
+        RegionTrie trie = new RegionTrie();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t");
+            if (fields.length < 2) {
+                throw new IOException("지역 사전 형식 오류 (" + lineNumber + "행): " + line);
+            }
+            if (line.startsWith("=")) {
+                Region region = trie.regions.get(fields[1].trim());
+                if (region == null) {
+                    throw new IOException("별칭 대상 지역이 없습니다 (" + lineNumber + "행): " + fields[1]);
+                }
+                insert(trie.trieOf(region.getParent()), fields[0].substring(1).trim(), region, false);
+                continue;
+            }
+            if (fields.length < 3) {
+                throw new IOException("지역 사전 형식 오류 (" + lineNumber + "행): " + line);
+            }
+            String path = fields[0].trim();
+            int split = path.lastIndexOf(' ');
+            Region parent = null;
+            if (split > 0) {
+                parent = trie.regions.get(path.substring(0, split));
+                if (parent == null) {
+                    throw new IOException("상위 지역이 먼저 나와야 합니다 (" + lineNumber + "행): " + path);
+                }
+            }
+            try {
+                trie.add(new Region(path.substring(split + 1), parent,
+                        Double.parseDouble(fields[1].trim()), Double.parseDouble(fields[2].trim())));
+            } catch (NumberFormatException e) {
+                throw new IOException("좌표 형식 오류 (" + lineNumber + "행): " + line);
+            }
+        }
+        return trie;
+    }
+
+    private void add(Region region) {
+        regions.put(region.getId(), region);
+        size++;
+        Node trie = trieOf(region.getParent());
+        String name = region.getName();
+        insert(trie, name, region, false);
+        if (region.getLevel() > Region.PROVINCE) {
+            insert(anywhere, name, region, false);
+        }
+        // 접미사를 뗀 이름 (예: "유성구" → "유성")은 뒤에 구분자가 있을 때만 인정
+        for (String suffix : SUFFIXES) {
+            if (region.getLevel() > Region.PROVINCE && name.endsWith(suffix) && name.length() - suffix.length() >= 2) {
+                String shortName = name.substring(0, name.length() - suffix.length());
+                insert(trie, shortName, region, true);
+                insert(anywhere, shortName, region, true);
+                break;
+            }
+        }
+    }
+
+    private Node trieOf(Region parent) {
+        if (parent == null) {
+            return provinces;
+        }
+        return children.computeIfAbsent(parent.getId(), id -> new Node());
+    }
+
+    private static void insert(Node trie, String key, Region region, boolean boundary) {
+        Node node = trie;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.next.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        if (node.region == null && !node.ambiguous) {
+            node.region = region;
+            node.boundary = boundary;
+        } else if (node.region == region) {
+            node.boundary &= boundary;
+        } else {
+            // 같은 이름이 여러 지역에 있으면 (예: 중구) 이름만으로는 정하지 않음
+            node.region = null;
+            node.ambiguous = true;
+        }
+    }
+
+    /**
+     * 사전의 지역 수 (별칭 제외)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 전체 경로로 지역 찾기 (예: "대전광역시 유성구")
+     */
+    public Region get(String id) {
+        return regions.get(id);
+    }
+
+    /**
+     * 주소 문자열에서 가장 구체적인 지역 찾기 (찾지 못하면 null)
+     * 시/도를 찾기 전의 알 수 없는 단어(예: "대한민국")는 건너뜁니다.
+     */
+    public Region resolve(String address) {
+        if (address == null) {
+            return null;
+        }
+        Region current = null;
+        int pos = skipSeparators(address, 0);
+        while (pos < address.length()) {
+            Node trie = current == null ? provinces : children.get(current.getId());
+            Match match = trie != null ? longestMatch(trie, address, pos) : null;
+            if (match == null && current == null) {
+                match = longestMatch(anywhere, address, pos);
+            }
+            if (match == null) {
+                if (current != null) {
+                    break;
+                }
+                pos = skipSeparators(address, skipWord(address, pos));
+                continue;
+            }
+            current = match.region;
+            pos = skipSeparators(address, match.end);
+        }
+        return current;
+    }
+
+    private static Match longestMatch(Node trie, String text, int start) {
+        Node node = trie;
+        Match best = null;
+        for (int i = start; i < text.length(); i++) {
+            node = node.next.get(text.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.region != null && (!node.boundary || i + 1 == text.length() || isSeparator(text.charAt(i + 1)))) {
+                best = new Match(node.region, i + 1);
+            }
+        }
+        return best;
+    }
+
+    private static int skipSeparators(String text, int pos) {
+        while (pos < text.length() && isSeparator(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipWord(String text, int pos) {
+        while (pos < text.length() && !isSeparator(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isSeparator(char c) {
+        return Character.isWhitespace(c) || c == ',' || c == '(' || c == ')' || Character.isDigit(c);
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> next = new HashMap<>();
+        private Region region;
+        private boolean boundary; // 이 이름 뒤에 구분자가 와야 하는지 (접미사를 뗀 별칭)
+        private boolean ambiguous;
+    }
+
+    private static final class Match {
+        private final Region region;
+        private final int end;
+
+        private Match(Region region, int end) {
+            this.region = region;
+            this.end = end;
+        }
+    }
+}
@@ -14,6 +14,7 @@ public class HospitalRecommendation {
     private String immediateActions; // 즉시 취해야 할 조치사항
     private String watchFor; // 주의 깊게 관찰해야 할 증상들
     private List<RecommendedHospital> recommendedHospitals;
+    private Boolean preliminary; // true면 규칙 기반 응급 안내 (AI 분석이 끝나면 /api/symptoms/results/{symptomId}에서 갱신된 결과 조회)
     
     @Data
     @NoArgsConstructor
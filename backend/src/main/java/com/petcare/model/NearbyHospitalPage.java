@@ -0,0 +1,18 @@
+package com.petcare.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyHospitalPage {
+    private List<Hospital> hospitals; // 가까운 순 (distanceKm = 검색 위치로부터의 거리)
+    private String nextCursor; // 다음 페이지 요청 시 cursor 값 (마지막 페이지면 null)
+    private Double latitude; // 검색 기준 좌표
+    private Double longitude;
+    private String region; // region으로 검색한 경우 해석된 행정구역
+    private Double radiusKm;
+}
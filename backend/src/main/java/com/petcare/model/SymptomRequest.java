@@ -15,6 +15,8 @@ public class SymptomRequest {
     private Integer onsetHoursAgo; // 증상 시작 후 경과 시간
     private List<String> selectedSymptoms; // 선택한 증상 리스트
     private EmergencyFlags emergencyFlags;
+    private Boolean openNow; // true면 현재 진료 중인 병원만 추천 (없으면 긴급도가 emergency일 때만)
+    private Boolean bypassCache; // true면 이전 분석 결과 캐시를 쓰지 않고 다시 분석
     
     @Data
     @NoArgsConstructor
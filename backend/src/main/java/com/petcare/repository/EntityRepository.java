@@ -0,0 +1,40 @@
+package com.petcare.repository;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 저장소 공통 인터페이스
+ * 구현은 app.storage.backend 설정으로 선택합니다. (file: JSON 파일, sql: 내장 H2 데이터베이스)
+ */
+public interface EntityRepository<T> {
+
+    T findById(String id) throws IOException;
+
+    /**
+     * 전체 목록 조회 (저장 순서, 호출자가 수정할 수 있는 새 리스트)
+     */
+    List<T> findAll() throws IOException;
+
+    long count() throws IOException;
+
+    boolean existsById(String id) throws IOException;
+
+    /**
+     * 엔티티 저장 (추가 또는 교체)
+     */
+    T save(T entity) throws IOException;
+
+    void saveAll(List<T> entities) throws IOException;
+
+    /**
+     * @return 삭제된 엔티티가 있으면 true
+     */
+    boolean deleteById(String id) throws IOException;
+
+    /**
+     * 데이터 변경 알림 등록 (저장/삭제, 파일 저장소는 외부에서 파일을 수정한 경우 포함)
+     * 리스너는 변경한 스레드나 파일 감시 스레드에서 호출되므로 오래 걸리는 작업은 다른 스레드로 넘겨야 합니다.
+     */
+    void addChangeListener(Runnable listener);
+}
@@ -0,0 +1,19 @@
+package com.petcare.repository;
+
+import com.petcare.index.HospitalStore;
+import com.petcare.model.Hospital;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface HospitalRepository extends EntityRepository<Hospital> {
+
+    List<Hospital> findByCity(String city) throws IOException;
+
+    List<Hospital> findByDepartment(String department) throws IOException;
+
+    /**
+     * 전체 병원을 열 저장소로 읽기 (저장 순서, 병원 객체 목록을 메모리에 두지 않고 한 건씩 추가)
+     */
+    HospitalStore loadStore() throws IOException;
+}
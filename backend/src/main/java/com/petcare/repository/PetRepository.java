@@ -0,0 +1,6 @@
+package com.petcare.repository;
+
+import com.petcare.model.Pet;
+
+public interface PetRepository extends EntityRepository<Pet> {
+}
@@ -0,0 +1,23 @@
+package com.petcare.repository;
+
+import com.petcare.model.Reservation;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReservationRepository extends EntityRepository<Reservation> {
+
+    List<Reservation> findByPetId(String petId) throws IOException;
+
+    List<Reservation> findByHospitalId(String hospitalId) throws IOException;
+
+    List<Reservation> findByStatus(String status) throws IOException;
+
+    /**
+     * 조건 조회 (null 조건은 무시, 기간은 양 끝 포함)
+     * 기간 조건이 있으면 예약 일시 순으로 정렬되어 반환됩니다.
+     */
+    List<Reservation> search(String petId, String hospitalId, String status,
+                             LocalDateTime from, LocalDateTime to) throws IOException;
+}
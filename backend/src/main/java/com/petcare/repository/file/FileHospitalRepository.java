@@ -0,0 +1,54 @@
+package com.petcare.repository.file;
+
+import com.petcare.index.HospitalImporter;
+import com.petcare.index.HospitalStore;
+import com.petcare.model.Hospital;
+import com.petcare.repository.HospitalRepository;
+import com.petcare.util.DataFileWatcher;
+import com.petcare.util.DataJournal;
+import com.petcare.util.FileDataManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.util.List;
+
+@Repository
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "file", matchIfMissing = true)
+public class FileHospitalRepository extends FileRepository<Hospital> implements HospitalRepository {
+
+    private static final String HOSPITALS_FILE = "hospitals.json";
+
+    public FileHospitalRepository(FileDataManager fileDataManager, DataFileWatcher dataFileWatcher,
+                                  DataJournal dataJournal) {
+        super(fileDataManager, dataFileWatcher, dataJournal, HOSPITALS_FILE, Hospital.class);
+    }
+
+    @Override
+    protected String idOf(Hospital hospital) {
+        return hospital.getId();
+    }
+
+    @Override
+    public List<Hospital> findByCity(String city) throws IOException {
+        return findAll(h -> city.equals(h.getCity()));
+    }
+
+    @Override
+    public List<Hospital> findByDepartment(String department) throws IOException {
+        return findAll(h -> h.getDepartments() != null && h.getDepartments().contains(department));
+    }
+
+    /**
+     * hospitals.json을 스트리밍해 열 저장소로 바로 읽음 (메모리 캐시를 로드하지 않음)
+     * 저널 모드에서는 저널 재생 결과가 최신이므로 로드된 목록으로 만듭니다.
+     */
+    @Override
+    public HospitalStore loadStore() throws IOException {
+        if (!isSingleFileCurrent()) {
+            return HospitalStore.of(findAll());
+        }
+        HospitalStore store = fileDataManager.stream(HOSPITALS_FILE, HospitalImporter::readJson);
+        return store != null ? store : HospitalStore.of(List.of());
+    }
+}
@@ -0,0 +1,50 @@
+package com.petcare.repository.file;
+
+import com.petcare.model.Pet;
+import com.petcare.repository.PetRepository;
+import com.petcare.util.DataFileWatcher;
+import com.petcare.util.DataJournal;
+import com.petcare.util.FileDataManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 반려동물 파일 저장소
+ * 샤딩(app.data.sharding.enabled=true) 시 id 해시로 pets/00.json ~ pets/{n-1}.json에 나눠 저장합니다.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "file", matchIfMissing = true)
+public class FilePetRepository extends FileRepository<Pet> implements PetRepository {
+
+    private static final String PETS_FILE = "pets.json";
+
+    private final int shardCount;
+
+    public FilePetRepository(FileDataManager fileDataManager, DataFileWatcher dataFileWatcher,
+                             DataJournal dataJournal,
+                             @Value("${app.data.sharding.enabled:false}") boolean sharded,
+                             @Value("${app.data.sharding.pet-shards:16}") int shardCount) {
+        super(fileDataManager, dataFileWatcher, dataJournal, PETS_FILE, Pet.class,
+                sharded ? pet -> shardKey(pet.getId(), shardCount) : null);
+        this.shardCount = sharded ? shardCount : 0;
+    }
+
+    /**
+     * id 해시 기반 샤드 키 (예: "07")
+     * 샤드 수를 바꾸면 ShardMigrationTool로 다시 배치해야 합니다.
+     */
+    public static String shardKey(String id, int shardCount) {
+        return String.format("%02d", Math.floorMod(id.hashCode(), shardCount));
+    }
+
+    @Override
+    protected String shardOfId(String id) {
+        return shardCount > 0 ? shardKey(id, shardCount) : null;
+    }
+
+    @Override
+    protected String idOf(Pet pet) {
+        return pet.getId();
+    }
+}
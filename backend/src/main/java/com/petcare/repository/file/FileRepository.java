@@ -0,0 +1,584 @@
+package com.petcare.repository.file;
+
+import com.petcare.repository.EntityRepository;
+import com.petcare.util.DataFileWatcher;
+import com.petcare.util.DataJournal;
+import com.petcare.util.FileDataManager;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * JSON 파일 기반 저장소 (메모리 캐시 + write-through, app.storage.backend=file)
+ * - 파일 내용을 id 기준 Map으로 메모리에 보관하여 조회 시 디스크를 읽지 않습니다.
+ * - 로드 전 조회는 전체를 역직렬화하지 않습니다. 단건 조회는 id 인덱스로 레코드 하나만 디코딩하고,
+ *   조건 조회는 파일을 스트리밍하며 조건에 맞는 레코드만 모읍니다.
+ * - 변경은 메모리에 반영한 뒤 즉시 파일에 기록합니다.
+ * - 하위 클래스는 onLoaded/onPut/onRemove/onInvalidate 훅으로 보조 인덱스를 함께 유지할 수 있습니다.
+ * - 프로세스 외부에서 파일이 수정되면 캐시를 무효화하고 다음 조회 때 다시 읽습니다.
+ *   저장/삭제/외부 수정은 addChangeListener로 등록한 리스너에 알립니다.
+ * - 저널 모드(app.data.journal.enabled=true)에서는 변경을 저널에 한 줄씩 추가하고,
+ *   주기적으로 전체 목록을 스냅샷 파일에 압축합니다.
+ * - 샤딩(shardOf 지정 시)에서는 엔티티를 샤드 키별 파일("pets/07.json")에 나눠 저장하고,
+ *   변경된 엔티티가 속한 샤드 파일만 다시 씁니다. 단일 파일이 남아 있으면 처음 로드할 때 샤드로 변환합니다.
+ */
+public abstract class FileRepository<T> implements EntityRepository<T> {
+
+    protected final FileDataManager fileDataManager;
+    private final DataJournal dataJournal;
+    private final String filename;
+    private final Class<T> type;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // null이면 아직 로드되지 않았거나 무효화된 상태
+    private Map<String, T> entities;
+
+    // 샤딩 (null이면 단일 파일)
+    private final Function<T, String> shardOf;
+    // id → 엔티티가 현재 저장된 샤드, 샤드 → 엔티티 (비어도 남겨 두어 빈 목록으로 다시 씀)
+    private final Map<String, String> shardOfId = new HashMap<>();
+    private final Map<String, Map<String, T>> shards = new TreeMap<>();
+    private volatile boolean shardsMigrated;
+
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    protected FileRepository(FileDataManager fileDataManager, DataFileWatcher dataFileWatcher,
+                             DataJournal dataJournal, String filename, Class<T> type) {
+        this(fileDataManager, dataFileWatcher, dataJournal, filename, type, null);
+    }
+
+    /**
+     * @param shardOf 엔티티 → 샤드 키 (null이면 단일 파일에 저장)
+     */
+    protected FileRepository(FileDataManager fileDataManager, DataFileWatcher dataFileWatcher,
+                             DataJournal dataJournal, String filename, Class<T> type,
+                             Function<T, String> shardOf) {
+        this.fileDataManager = fileDataManager;
+        this.dataJournal = dataJournal;
+        this.filename = filename;
+        this.type = type;
+        this.shardOf = shardOf;
+        if (shardOf != null) {
+            dataFileWatcher.registerDirectory(FileDataManager.shardDirectory(filename), this::onShardChanged);
+        } else {
+            dataFileWatcher.register(fileDataManager.resolveFileName(filename), this::onFileChanged);
+        }
+    }
+
+    /**
+     * 엔티티의 id 추출
+     */
+    protected abstract String idOf(T entity);
+
+    /**
+     * id만으로 샤드를 알 수 있으면 샤드 키 반환 (로드 전 단건 조회 시 샤드 하나만 읽음)
+     */
+    protected String shardOfId(String id) {
+        return null;
+    }
+
+    /*
+     * 보조 인덱스 유지용 훅 (모두 쓰기 락을 잡은 상태에서 호출)
+     */
+    protected void onLoaded(Map<String, T> entities) {
+    }
+
+    protected void onPut(String id, T entity) {
+    }
+
+    protected void onRemove(String id) {
+    }
+
+    protected void onInvalidate() {
+    }
+
+    /**
+     * 로드된 상태에서 읽기 락을 잡고 조회 (하위 클래스의 보조 인덱스 조회용)
+     */
+    protected <R> R readLoaded(Function<Map<String, T>, R> reader) throws IOException {
+        lock.readLock().lock();
+        try {
+            if (entities != null) {
+                return reader.apply(entities);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            return reader.apply(loaded());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 데이터 파일 하나만 읽으면 현재 상태를 알 수 있는지 (파일은 write-through로 항상 최신)
+     * 저널 모드는 저널 재생이, 샤딩은 여러 샤드 파일이 필요하므로 false입니다.
+     */
+    protected boolean isSingleFileCurrent() {
+        return shardOf == null && !dataJournal.isEnabled();
+    }
+
+    /**
+     * 로드 전 샤드 범위 조회
+     * 아직 로드되지 않았다면 shardFilter를 통과한 샤드 파일만 스트리밍해 조건에 맞는 레코드를 반환합니다.
+     * 이미 로드됐거나 샤딩/저널을 쓰지 않으면 null을 반환하므로 호출자는 메모리 조회를 사용합니다.
+     */
+    protected List<T> scanShardsIfCold(Predicate<String> shardFilter, Predicate<? super T> filter) throws IOException {
+        if (shardOf == null || dataJournal.isEnabled()) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            if (entities != null) {
+                return null;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        migrateShardsIfNeeded();
+        List<T> results = new ArrayList<>();
+        for (String shard : fileDataManager.listShards(filename)) {
+            if (shardFilter.test(shard)) {
+                results.addAll(fileDataManager.query(shardFile(shard), type, filter, Integer.MAX_VALUE));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * id로 조회
+     * 아직 로드되지 않았거나 무효화된 상태라면 전체 파일을 읽는 대신 id 인덱스로 레코드 하나만 읽고,
+     * 인덱스를 지원하지 않는 저장 형식이면 스트리밍으로 찾는 즉시 멈춥니다. (저널 모드는 전체 로드)
+     */
+    public T findById(String id) throws IOException {
+        lock.readLock().lock();
+        try {
+            if (entities != null) {
+                return entities.get(id);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (dataJournal.isEnabled()) {
+            return loaded().get(id);
+        }
+        for (String file : coldFiles(shardOfId(id))) {
+            T found = fileDataManager.supportsIndexedLookup()
+                    ? fileDataManager.findById(file, type, id)
+                    : fileDataManager.findFirst(file, type, entity -> id.equals(idOf(entity)));
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 조건 조회
+     * 로드 전이면 파일을 스트리밍하며 조건에 맞는 레코드만 모읍니다. (저널 모드는 전체 로드)
+     */
+    public List<T> findAll(Predicate<? super T> filter) throws IOException {
+        lock.readLock().lock();
+        try {
+            if (entities != null) {
+                return entities.values().stream().filter(filter).collect(Collectors.toList());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (dataJournal.isEnabled()) {
+            return findAll().stream().filter(filter).collect(Collectors.toList());
+        }
+        List<T> results = new ArrayList<>();
+        for (String file : coldFiles(null)) {
+            results.addAll(fileDataManager.query(file, type, filter, Integer.MAX_VALUE));
+        }
+        return results;
+    }
+
+    /**
+     * 전체 목록 조회
+     * 호출자가 정렬·수정할 수 있도록 새 리스트로 반환합니다.
+     */
+    public List<T> findAll() throws IOException {
+        lock.readLock().lock();
+        try {
+            if (entities != null) {
+                return new ArrayList<>(entities.values());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            return new ArrayList<>(loaded().values());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long count() throws IOException {
+        return readLoaded(Map::size);
+    }
+
+    public boolean existsById(String id) throws IOException {
+        return findById(id) != null;
+    }
+
+    /**
+     * 엔티티 저장 (추가 또는 교체) 후 파일에 기록
+     */
+    public T save(T entity) throws IOException {
+        String id = idOf(entity);
+        Set<String> touched = new LinkedHashSet<>();
+        lock.writeLock().lock();
+        try {
+            put(loaded(), id, entity, touched);
+            if (dataJournal.isEnabled()) {
+                dataJournal.append(filename, List.of(dataJournal.put(id, entity)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(touched);
+        fireChanged();
+        return entity;
+    }
+
+    public void saveAll(List<T> list) throws IOException {
+        Set<String> touched = new LinkedHashSet<>();
+        lock.writeLock().lock();
+        try {
+            Map<String, T> map = loaded();
+            List<DataJournal.Entry> entries = new ArrayList<>(list.size());
+            for (T entity : list) {
+                String id = idOf(entity);
+                put(map, id, entity, touched);
+                if (dataJournal.isEnabled()) {
+                    entries.add(dataJournal.put(id, entity));
+                }
+            }
+            if (dataJournal.isEnabled()) {
+                dataJournal.append(filename, entries);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(touched);
+        fireChanged();
+    }
+
+    /**
+     * @return 삭제된 엔티티가 있으면 true
+     */
+    public boolean deleteById(String id) throws IOException {
+        Set<String> touched = new LinkedHashSet<>();
+        lock.writeLock().lock();
+        try {
+            if (loaded().remove(id) == null) {
+                return false;
+            }
+            onRemove(id);
+            String shard = shardOfId.remove(id);
+            if (shard != null) {
+                shards.get(shard).remove(id);
+                touched.add(shard);
+            }
+            if (dataJournal.isEnabled()) {
+                dataJournal.append(filename, List.of(dataJournal.delete(id)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(touched);
+        fireChanged();
+        return true;
+    }
+
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                System.err.println("데이터 변경 알림 처리 오류: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 캐시 무효화 (다음 조회 시 파일에서 다시 읽음)
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            entities = null;
+            shardOfId.clear();
+            shards.clear();
+            onInvalidate();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 쓰기 락 안에서 엔티티 반영 (샤딩 시 샤드 키가 바뀌었으면 이전 샤드에서 옮김)
+     */
+    private void put(Map<String, T> map, String id, T entity, Set<String> touched) {
+        map.put(id, entity);
+        onPut(id, entity);
+        if (shardOf == null) {
+            return;
+        }
+        String shard = shardOf.apply(entity);
+        String previous = shardOfId.put(id, shard);
+        if (previous != null && !previous.equals(shard)) {
+            shards.get(previous).remove(id);
+            touched.add(previous);
+        }
+        shards.computeIfAbsent(shard, k -> new LinkedHashMap<>()).put(id, entity);
+        touched.add(shard);
+    }
+
+    private Map<String, T> loaded() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (entities == null) {
+                Map<String, T> map = new LinkedHashMap<>();
+                if (shardOf == null) {
+                    for (T entity : fileDataManager.loadListFromFile(filename, type)) {
+                        map.put(idOf(entity), entity);
+                    }
+                    warnIfShardsExist();
+                } else {
+                    migrateShardsIfNeeded();
+                    for (String shard : fileDataManager.listShards(filename)) {
+                        shards.put(shard, new LinkedHashMap<>());
+                        for (T entity : fileDataManager.loadListFromFile(shardFile(shard), type)) {
+                            String id = idOf(entity);
+                            map.put(id, entity);
+                            shardOfId.put(id, shard);
+                        }
+                    }
+                }
+                if (dataJournal.isEnabled()) {
+                    dataJournal.replay(filename, type, map);
+                }
+                if (shardOf != null) {
+                    assignShards(map);
+                }
+                entities = map;
+                onLoaded(map);
+            }
+            return entities;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 로드한 엔티티를 실제로 저장된 샤드 기준으로 배치
+     * 저널에서만 온 엔티티는 샤드 키로 배치하고, 저널에서 삭제된 엔티티는 뺍니다.
+     * 저장된 샤드와 샤드 키가 다르면 다음 저장 때 올바른 샤드로 옮겨집니다.
+     */
+    private void assignShards(Map<String, T> map) {
+        shardOfId.keySet().retainAll(map.keySet());
+        for (Map.Entry<String, T> entry : map.entrySet()) {
+            String shard = shardOfId.computeIfAbsent(entry.getKey(), id -> shardOf.apply(entry.getValue()));
+            shards.computeIfAbsent(shard, k -> new LinkedHashMap<>()).put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 샤딩이 켜졌는데 단일 파일이 남아 있으면 샤드로 변환 (최초 1회)
+     */
+    private void migrateShardsIfNeeded() throws IOException {
+        if (shardsMigrated) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!shardsMigrated && fileDataManager.exists(filename)) {
+                fileDataManager.migrateToShards(filename, type, this::idOf, shardOf);
+            }
+            shardsMigrated = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void warnIfShardsExist() throws IOException {
+        if (!fileDataManager.listShards(filename).isEmpty()) {
+            System.err.println("⚠️ 샤드 파일이 남아 있지만 샤딩이 꺼져 있습니다: " + FileDataManager.shardDirectory(filename)
+                    + "/ (ShardMigrationTool --merge로 단일 파일로 합치세요)");
+        }
+    }
+
+    /**
+     * 로드 전 조회 대상 파일 (샤드 키를 알면 그 샤드만, 아니면 모든 샤드)
+     */
+    private List<String> coldFiles(String shard) throws IOException {
+        if (shardOf == null) {
+            return List.of(filename);
+        }
+        migrateShardsIfNeeded();
+        if (shard != null) {
+            return List.of(shardFile(shard));
+        }
+        return fileDataManager.listShards(filename).stream().map(this::shardFile).collect(Collectors.toList());
+    }
+
+    private String shardFile(String shard) {
+        return FileDataManager.shardFileName(filename, shard);
+    }
+
+    /**
+     * 저널 모드 시작 시 스냅샷 + 저널을 미리 재생
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayJournal() {
+        if (!dataJournal.isEnabled()) {
+            return;
+        }
+        try {
+            loaded();
+        } catch (IOException e) {
+            System.err.println("저널 재생 실패: " + filename + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * 저널 압축: 현재 메모리 상태를 스냅샷 파일로 저장하고 저널을 비웁니다.
+     * 스냅샷 기록은 락 밖에서 수행하므로 압축 중에도 쓰기가 계속 저널에 추가됩니다.
+     */
+    @Scheduled(fixedDelayString = "${app.data.journal.compact-interval-ms:60000}")
+    public void compact() {
+        if (!dataJournal.isEnabled()) {
+            return;
+        }
+        try {
+            Map<String, List<T>> snapshot = new LinkedHashMap<>();
+            lock.writeLock().lock();
+            try {
+                if (entities == null || !dataJournal.beginCompaction(filename)) {
+                    return;
+                }
+                if (shardOf == null) {
+                    snapshot.put(filename, new ArrayList<>(entities.values()));
+                } else {
+                    for (Map.Entry<String, Map<String, T>> shard : shards.entrySet()) {
+                        snapshot.put(shardFile(shard.getKey()), new ArrayList<>(shard.getValue().values()));
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            int records = 0;
+            for (Map.Entry<String, List<T>> file : snapshot.entrySet()) {
+                fileDataManager.saveListToFile(file.getKey(), file.getValue());
+                records += file.getValue().size();
+            }
+            dataJournal.completeCompaction(filename);
+            System.out.println("📝 저널 압축 완료: " + filename + " (" + records + "건"
+                    + (shardOf != null ? ", 샤드 " + snapshot.size() + "개" : "") + ")");
+        } catch (IOException e) {
+            // .compacting 파일이 남아 있으므로 다음 재생/압축 때 복구됩니다.
+            System.err.println("저널 압축 실패: " + filename + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * 변경 내용을 디스크에 반영 (저장소 락 밖에서 호출)
+     * 동시에 들어온 변경은 그룹 커밋으로 한 번의 기록 + fsync로 합쳐집니다.
+     * 샤딩 시에는 변경된 샤드 파일만 다시 씁니다.
+     */
+    private void commit(Collection<String> touchedShards) throws IOException {
+        try {
+            if (dataJournal.isEnabled()) {
+                dataJournal.sync(filename);
+            } else if (shardOf == null) {
+                fileDataManager.commitListToFile(filename, this::snapshot);
+            } else {
+                for (String shard : touchedShards) {
+                    fileDataManager.commitListToFile(shardFile(shard), () -> shardSnapshot(shard));
+                }
+            }
+        } catch (IOException e) {
+            // 파일과 메모리가 어긋났을 수 있으므로 다음 조회 때 파일 기준으로 다시 로드
+            invalidate();
+            throw e;
+        }
+    }
+
+    /**
+     * 그룹 커밋 시점의 최신 목록 (무효화된 상태면 null을 반환해 파일을 덮어쓰지 않음)
+     */
+    private List<T> snapshot() {
+        lock.readLock().lock();
+        try {
+            return entities != null ? new ArrayList<>(entities.values()) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<T> shardSnapshot(String shard) {
+        lock.readLock().lock();
+        try {
+            if (entities == null) {
+                return null;
+            }
+            Map<String, T> members = shards.get(shard);
+            return members != null ? new ArrayList<>(members.values()) : new ArrayList<>();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void onFileChanged() {
+        if (fileDataManager.isOwnWrite(filename)) {
+            return; // 이 저장소가 직접 쓴 변경
+        }
+        System.out.println("🔄 데이터 파일 외부 변경 감지: " + filename + " (캐시 무효화)");
+        invalidate();
+        fireChanged();
+    }
+
+    /**
+     * 샤드 디렉토리 변경 (shardFileName이 null이면 이벤트 유실)
+     */
+    private void onShardChanged(String shardFileName) {
+        String shard = shardFileName != null ? fileDataManager.shardKeyOf(shardFileName) : null;
+        if (shardFileName != null && shard == null) {
+            return; // 임시 파일, id 인덱스 등
+        }
+        if (shard != null && fileDataManager.isOwnWrite(shardFile(shard))) {
+            return;
+        }
+        System.out.println("🔄 데이터 파일 외부 변경 감지: " + FileDataManager.shardDirectory(filename) + "/"
+                + (shardFileName != null ? shardFileName : "") + " (캐시 무효화)");
+        invalidate();
+        fireChanged();
+    }
+}
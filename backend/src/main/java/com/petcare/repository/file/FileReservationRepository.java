@@ -0,0 +1,135 @@
+package com.petcare.repository.file;
+
+import com.petcare.model.Reservation;
+import com.petcare.repository.ReservationRepository;
+import com.petcare.util.DataFileWatcher;
+import com.petcare.util.DataJournal;
+import com.petcare.util.FileDataManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 예약 파일 저장소
+ * petId / hospitalId / status / 예약 일시 보조 인덱스를 캐시와 함께 유지하여
+ * 예약 이력이 늘어나도 조건 조회가 전체를 훑지 않도록 합니다.
+ * 샤딩(app.data.sharding.enabled=true) 시 예약 월별로 reservations/2026-10.json에 나눠 저장하며,
+ * 로드 전 기간 조회는 해당 월의 샤드 파일만 읽습니다.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "file", matchIfMissing = true)
+public class FileReservationRepository extends FileRepository<Reservation> implements ReservationRepository {
+
+    private static final String RESERVATIONS_FILE = "reservations.json";
+
+    // 예약 일시가 없는 예약의 샤드 키
+    private static final String UNDATED_SHARD = "undated";
+
+    private final ReservationIndex index = new ReservationIndex();
+
+    public FileReservationRepository(FileDataManager fileDataManager, DataFileWatcher dataFileWatcher,
+                                     DataJournal dataJournal,
+                                     @Value("${app.data.sharding.enabled:false}") boolean sharded) {
+        super(fileDataManager, dataFileWatcher, dataJournal, RESERVATIONS_FILE, Reservation.class,
+                sharded ? FileReservationRepository::shardKey : null);
+    }
+
+    /**
+     * 예약 월 기반 샤드 키 (예: "2026-10", 예약 일시가 없으면 "undated")
+     */
+    public static String shardKey(Reservation reservation) {
+        LocalDateTime dateTime = reservation.getReservationDateTime();
+        return dateTime != null ? YearMonth.from(dateTime).toString() : UNDATED_SHARD;
+    }
+
+    @Override
+    protected String idOf(Reservation reservation) {
+        return reservation.getId();
+    }
+
+    @Override
+    public List<Reservation> findByPetId(String petId) throws IOException {
+        return readLoaded(entities -> resolve(entities, index.byPet(petId)));
+    }
+
+    @Override
+    public List<Reservation> findByHospitalId(String hospitalId) throws IOException {
+        return readLoaded(entities -> resolve(entities, index.byHospital(hospitalId)));
+    }
+
+    @Override
+    public List<Reservation> findByStatus(String status) throws IOException {
+        return readLoaded(entities -> resolve(entities, index.byStatus(status)));
+    }
+
+    @Override
+    public List<Reservation> search(String petId, String hospitalId, String status,
+                                    LocalDateTime from, LocalDateTime to) throws IOException {
+        if (from != null || to != null) {
+            // 로드 전이면 기간에 해당하는 월 샤드만 읽음
+            String fromShard = from != null ? YearMonth.from(from).toString() : null;
+            String toShard = to != null ? YearMonth.from(to).toString() : null;
+            List<Reservation> scanned = scanShardsIfCold(
+                    shard -> !UNDATED_SHARD.equals(shard)
+                            && (fromShard == null || shard.compareTo(fromShard) >= 0)
+                            && (toShard == null || shard.compareTo(toShard) <= 0),
+                    r -> matches(r, petId, hospitalId, status, from, to));
+            if (scanned != null) {
+                scanned.sort(Comparator.comparing(Reservation::getReservationDateTime));
+                return scanned;
+            }
+        }
+        return readLoaded(entities -> resolve(entities, index.search(petId, hospitalId, status, from, to)));
+    }
+
+    @Override
+    protected void onLoaded(Map<String, Reservation> entities) {
+        index.rebuild(entities.values());
+    }
+
+    @Override
+    protected void onPut(String id, Reservation reservation) {
+        index.put(id, reservation);
+    }
+
+    @Override
+    protected void onRemove(String id) {
+        index.remove(id);
+    }
+
+    @Override
+    protected void onInvalidate() {
+        index.clear();
+    }
+
+    private static boolean matches(Reservation r, String petId, String hospitalId, String status,
+                                   LocalDateTime from, LocalDateTime to) {
+        LocalDateTime dateTime = r.getReservationDateTime();
+        return (petId == null || petId.equals(r.getPetId()))
+                && (hospitalId == null || hospitalId.equals(r.getHospitalId()))
+                && (status == null || status.equals(r.getStatus()))
+                && dateTime != null
+                && (from == null || !dateTime.isBefore(from))
+                && (to == null || !dateTime.isAfter(to));
+    }
+
+    private static List<Reservation> resolve(Map<String, Reservation> entities, Collection<String> ids) {
+        List<Reservation> reservations = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Reservation reservation = entities.get(id);
+            if (reservation != null) {
+                reservations.add(reservation);
+            }
+        }
+        return reservations;
+    }
+}
@@ -0,0 +1,190 @@
+package com.petcare.repository.file;
+
+import com.petcare.model.Reservation;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 예약 보조 인덱스 (petId / hospitalId / status → 예약 id, 예약 일시 정렬 인덱스)
+ *
+ * 캐시된 예약 객체는 서비스에서 직접 수정될 수 있으므로(예: 취소 시 status 변경),
+ * id별로 마지막에 색인한 키 값을 따로 보관해 두고 갱신 시 예전 키를 기준으로 제거합니다.
+ * 동기화는 하지 않으며 ReservationRepository의 저장소 락 안에서만 사용합니다.
+ */
+class ReservationIndex {
+
+    private final Map<String, Key> keys = new HashMap<>();
+    private final Map<String, Set<String>> byPet = new HashMap<>();
+    private final Map<String, Set<String>> byHospital = new HashMap<>();
+    private final Map<String, Set<String>> byStatus = new HashMap<>();
+    private final TreeMap<LocalDateTime, Set<String>> byDate = new TreeMap<>();
+
+    void rebuild(Collection<Reservation> reservations) {
+        clear();
+        for (Reservation reservation : reservations) {
+            put(reservation.getId(), reservation);
+        }
+    }
+
+    void clear() {
+        keys.clear();
+        byPet.clear();
+        byHospital.clear();
+        byStatus.clear();
+        byDate.clear();
+    }
+
+    void put(String id, Reservation reservation) {
+        Key key = new Key(reservation);
+        Key previous = keys.put(id, key);
+        if (key.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            unlink(id, previous);
+        }
+        link(byPet, key.petId, id);
+        link(byHospital, key.hospitalId, id);
+        link(byStatus, key.status, id);
+        link(byDate, key.dateTime, id);
+    }
+
+    void remove(String id) {
+        Key previous = keys.remove(id);
+        if (previous != null) {
+            unlink(id, previous);
+        }
+    }
+
+    Set<String> byPet(String petId) {
+        return byPet.getOrDefault(petId, Collections.emptySet());
+    }
+
+    Set<String> byHospital(String hospitalId) {
+        return byHospital.getOrDefault(hospitalId, Collections.emptySet());
+    }
+
+    Set<String> byStatus(String status) {
+        return byStatus.getOrDefault(status, Collections.emptySet());
+    }
+
+    /**
+     * 조건 조회 (null 조건은 무시)
+     * 기간 조건이 있으면 날짜 인덱스를 일시 순으로 순회하고,
+     * 없으면 주어진 조건 중 가장 작은 버킷만 순회하며 나머지 조건은 색인된 키로 확인합니다.
+     */
+    List<String> search(String petId, String hospitalId, String status, LocalDateTime from, LocalDateTime to) {
+        List<String> ids = new ArrayList<>();
+        if (from != null || to != null) {
+            NavigableMap<LocalDateTime, Set<String>> range = byDate;
+            if (from != null) {
+                range = range.tailMap(from, true);
+            }
+            if (to != null) {
+                range = range.headMap(to, true);
+            }
+            for (Set<String> bucket : range.values()) {
+                for (String id : bucket) {
+                    if (keys.get(id).matches(petId, hospitalId, status)) {
+                        ids.add(id);
+                    }
+                }
+            }
+            return ids;
+        }
+
+        Collection<String> candidates = null;
+        if (petId != null) {
+            candidates = byPet(petId);
+        }
+        if (hospitalId != null && (candidates == null || byHospital(hospitalId).size() < candidates.size())) {
+            candidates = byHospital(hospitalId);
+        }
+        if (status != null && (candidates == null || byStatus(status).size() < candidates.size())) {
+            candidates = byStatus(status);
+        }
+        if (candidates == null) {
+            candidates = keys.keySet();
+        }
+        for (String id : candidates) {
+            if (keys.get(id).matches(petId, hospitalId, status)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private void unlink(String id, Key key) {
+        unlink(byPet, key.petId, id);
+        unlink(byHospital, key.hospitalId, id);
+        unlink(byStatus, key.status, id);
+        unlink(byDate, key.dateTime, id);
+    }
+
+    private static <K> void link(Map<K, Set<String>> index, K key, String id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(id);
+        }
+    }
+
+    private static <K> void unlink(Map<K, Set<String>> index, K key, String id) {
+        if (key == null) {
+            return;
+        }
+        Set<String> bucket = index.get(key);
+        if (bucket != null && bucket.remove(id) && bucket.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * 색인 시점의 키 값 (이후 객체가 수정되어도 변하지 않음)
+     */
+    private static final class Key {
+        private final String petId;
+        private final String hospitalId;
+        private final String status;
+        private final LocalDateTime dateTime;
+
+        private Key(Reservation reservation) {
+            this.petId = reservation.getPetId();
+            this.hospitalId = reservation.getHospitalId();
+            this.status = reservation.getStatus();
+            this.dateTime = reservation.getReservationDateTime();
+        }
+
+        private boolean matches(String petId, String hospitalId, String status) {
+            return (petId == null || petId.equals(this.petId))
+                    && (hospitalId == null || hospitalId.equals(this.hospitalId))
+                    && (status == null || status.equals(this.status));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(petId, other.petId)
+                    && Objects.equals(hospitalId, other.hospitalId)
+                    && Objects.equals(status, other.status)
+                    && Objects.equals(dateTime, other.dateTime);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(petId, hospitalId, status, dateTime);
+        }
+    }
+}
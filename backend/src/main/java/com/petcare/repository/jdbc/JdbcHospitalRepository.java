@@ -0,0 +1,77 @@
+package com.petcare.repository.jdbc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petcare.index.HospitalStore;
+import com.petcare.model.Hospital;
+import com.petcare.repository.HospitalRepository;
+import com.petcare.util.FileDataManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 병원 SQL 저장소
+ * 진료과목은 hospital_departments 테이블에 (진료과목, 병원 id)로 따로 저장해 진료과목 조회에 인덱스를 사용합니다.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "sql")
+public class JdbcHospitalRepository extends JdbcRepository<Hospital> implements HospitalRepository {
+
+    public JdbcHospitalRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper, FileDataManager fileDataManager) {
+        super(jdbcTemplate, transactionTemplate, objectMapper, fileDataManager,
+                "hospitals", "hospitals.json", Hospital.class, "city");
+    }
+
+    @Override
+    protected String idOf(Hospital hospital) {
+        return hospital.getId();
+    }
+
+    @Override
+    protected Object[] columnValues(Hospital hospital) {
+        return new Object[]{hospital.getCity()};
+    }
+
+    @Override
+    protected void afterSave(String id, Hospital hospital) {
+        jdbcTemplate.update("DELETE FROM hospital_departments WHERE hospital_id = ?", id);
+        if (hospital.getDepartments() == null) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (String department : new LinkedHashSet<>(hospital.getDepartments())) {
+            rows.add(new Object[]{department, id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO hospital_departments (department, hospital_id) VALUES (?, ?)", rows);
+    }
+
+    @Override
+    protected void afterDelete(String id) {
+        jdbcTemplate.update("DELETE FROM hospital_departments WHERE hospital_id = ?", id);
+    }
+
+    @Override
+    public List<Hospital> findByCity(String city) throws IOException {
+        return query("WHERE city = ? ORDER BY seq", city);
+    }
+
+    @Override
+    public List<Hospital> findByDepartment(String department) throws IOException {
+        return query("WHERE id IN (SELECT hospital_id FROM hospital_departments WHERE department = ?) ORDER BY seq",
+                department);
+    }
+
+    @Override
+    public HospitalStore loadStore() throws IOException {
+        HospitalStore.Builder builder = new HospitalStore.Builder();
+        forEach("ORDER BY seq", builder::add);
+        return builder.build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.petcare.repository.jdbc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petcare.model.Pet;
+import com.petcare.repository.PetRepository;
+import com.petcare.util.FileDataManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Repository
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "sql")
+public class JdbcPetRepository extends JdbcRepository<Pet> implements PetRepository {
+
+    public JdbcPetRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper, FileDataManager fileDataManager) {
+        super(jdbcTemplate, transactionTemplate, objectMapper, fileDataManager, "pets", "pets.json", Pet.class);
+    }
+
+    @Override
+    protected String idOf(Pet pet) {
+        return pet.getId();
+    }
+}
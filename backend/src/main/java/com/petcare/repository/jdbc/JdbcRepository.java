@@ -0,0 +1,229 @@
+package com.petcare.repository.jdbc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petcare.repository.EntityRepository;
+import com.petcare.util.FileDataManager;
+import jakarta.annotation.PostConstruct;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 내장 SQL 데이터베이스 저장소 (app.storage.backend=sql)
+ * - 조회 조건 컬럼은 인덱스가 걸린 일반 컬럼으로, 엔티티 전체는 payload 컬럼에 JSON으로 저장합니다.
+ * - 조건 조회는 WHERE 절로 인덱스를 타므로 데이터가 늘어나도 전체를 읽지 않습니다.
+ * - 테이블이 비어 있으면 시작 시 data 디렉토리의 JSON 파일을 한 번 가져옵니다.
+ * - 데이터베이스 오류는 파일 저장소와 같이 IOException으로 전달합니다.
+ */
+public abstract class JdbcRepository<T> implements EntityRepository<T> {
+
+    protected final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final FileDataManager fileDataManager;
+    private final String table;
+    private final String filename;
+    private final Class<T> type;
+    private final String mergeSql;
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param columns id, payload 외에 엔티티에서 뽑아 저장할 조회용 컬럼 (columnValues와 같은 순서)
+     */
+    protected JdbcRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper, FileDataManager fileDataManager,
+                             String table, String filename, Class<T> type, String... columns) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.fileDataManager = fileDataManager;
+        this.table = table;
+        this.filename = filename;
+        this.type = type;
+
+        StringBuilder names = new StringBuilder("id");
+        StringBuilder params = new StringBuilder("?");
+        for (String column : columns) {
+            names.append(", ").append(column);
+            params.append(", ?");
+        }
+        this.mergeSql = "MERGE INTO " + table + " (" + names + ", payload) KEY (id) VALUES (" + params + ", ?)";
+    }
+
+    protected abstract String idOf(T entity);
+
+    /**
+     * 조회용 컬럼 값 (생성자의 columns 순서)
+     */
+    protected Object[] columnValues(T entity) {
+        return new Object[0];
+    }
+
+    /*
+     * 보조 테이블 유지용 훅 (저장/삭제와 같은 트랜잭션에서 호출)
+     */
+    protected void afterSave(String id, T entity) {
+    }
+
+    protected void afterDelete(String id) {
+    }
+
+    @Override
+    public T findById(String id) throws IOException {
+        List<T> found = query("WHERE id = ?", id);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Override
+    public List<T> findAll() throws IOException {
+        return query("ORDER BY seq");
+    }
+
+    @Override
+    public long count() throws IOException {
+        return execute(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class));
+    }
+
+    @Override
+    public boolean existsById(String id) throws IOException {
+        return execute(() -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE id = ?", Long.class, id)) > 0;
+    }
+
+    @Override
+    public T save(T entity) throws IOException {
+        Object[] row = row(entity);
+        execute(() -> transactionTemplate.execute(status -> {
+            jdbcTemplate.update(mergeSql, row);
+            afterSave(idOf(entity), entity);
+            return null;
+        }));
+        fireChanged();
+        return entity;
+    }
+
+    @Override
+    public void saveAll(List<T> entities) throws IOException {
+        List<Object[]> rows = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            rows.add(row(entity));
+        }
+        execute(() -> transactionTemplate.execute(status -> {
+            jdbcTemplate.batchUpdate(mergeSql, rows);
+            for (T entity : entities) {
+                afterSave(idOf(entity), entity);
+            }
+            return null;
+        }));
+        fireChanged();
+    }
+
+    @Override
+    public boolean deleteById(String id) throws IOException {
+        Boolean deleted = execute(() -> transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update("DELETE FROM " + table + " WHERE id = ?", id) == 0) {
+                return false;
+            }
+            afterDelete(id);
+            return true;
+        }));
+        if (Boolean.TRUE.equals(deleted)) {
+            fireChanged();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                System.err.println("데이터 변경 알림 처리 오류: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * payload 조회 후 역직렬화 (clause: WHERE / ORDER BY 절)
+     */
+    protected List<T> query(String clause, Object... args) throws IOException {
+        List<String> payloads = execute(() -> jdbcTemplate.queryForList(
+                "SELECT payload FROM " + table + " " + clause, String.class, args));
+        List<T> entities = new ArrayList<>(payloads.size());
+        for (String payload : payloads) {
+            entities.add(objectMapper.readValue(payload, type));
+        }
+        return entities;
+    }
+
+    /**
+     * payload를 한 건씩 역직렬화해 전달 (목록을 만들지 않는 스트리밍 조회, clause: WHERE / ORDER BY 절)
+     */
+    protected void forEach(String clause, Consumer<T> action, Object... args) throws IOException {
+        try {
+            execute(() -> {
+                jdbcTemplate.query("SELECT payload FROM " + table + " " + clause, (RowCallbackHandler) rs -> {
+                    try {
+                        action.accept(objectMapper.readValue(rs.getString(1), type));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, args);
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 테이블이 비어 있으면 기존 JSON 파일의 데이터를 가져옵니다. (파일 저장소 → SQL 저장소 전환용)
+     */
+    @PostConstruct
+    public void importFromFile() {
+        try {
+            if (count() > 0) {
+                return;
+            }
+            List<T> entities = fileDataManager.loadListFromFile(filename, type);
+            if (!entities.isEmpty()) {
+                saveAll(entities);
+                System.out.println("📥 JSON 파일 가져오기: " + filename + " → " + table + " (" + entities.size() + "건)");
+            }
+        } catch (IOException e) {
+            System.err.println("JSON 파일 가져오기 실패: " + filename + " - " + e.getMessage());
+        }
+    }
+
+    private Object[] row(T entity) throws IOException {
+        Object[] columns = columnValues(entity);
+        Object[] row = new Object[columns.length + 2];
+        row[0] = idOf(entity);
+        System.arraycopy(columns, 0, row, 1, columns.length);
+        row[row.length - 1] = objectMapper.writeValueAsString(entity);
+        return row;
+    }
+
+    private <R> R execute(Supplier<R> action) throws IOException {
+        try {
+            return action.get();
+        } catch (DataAccessException e) {
+            throw new IOException("DB 오류: " + e.getMostSpecificCause().getMessage(), e);
+        }
+    }
+}
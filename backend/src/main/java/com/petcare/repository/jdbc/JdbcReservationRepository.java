@@ -0,0 +1,86 @@
+package com.petcare.repository.jdbc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petcare.model.Reservation;
+import com.petcare.repository.ReservationRepository;
+import com.petcare.util.FileDataManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 예약 SQL 저장소 (pet_id, hospital_id+status, status, reservation_date_time 인덱스 사용)
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "sql")
+public class JdbcReservationRepository extends JdbcRepository<Reservation> implements ReservationRepository {
+
+    public JdbcReservationRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                     ObjectMapper objectMapper, FileDataManager fileDataManager) {
+        super(jdbcTemplate, transactionTemplate, objectMapper, fileDataManager,
+                "reservations", "reservations.json", Reservation.class,
+                "pet_id", "hospital_id", "status", "reservation_date_time");
+    }
+
+    @Override
+    protected String idOf(Reservation reservation) {
+        return reservation.getId();
+    }
+
+    @Override
+    protected Object[] columnValues(Reservation reservation) {
+        return new Object[]{reservation.getPetId(), reservation.getHospitalId(),
+                reservation.getStatus(), reservation.getReservationDateTime()};
+    }
+
+    @Override
+    public List<Reservation> findByPetId(String petId) throws IOException {
+        return query("WHERE pet_id = ? ORDER BY seq", petId);
+    }
+
+    @Override
+    public List<Reservation> findByHospitalId(String hospitalId) throws IOException {
+        return query("WHERE hospital_id = ? ORDER BY seq", hospitalId);
+    }
+
+    @Override
+    public List<Reservation> findByStatus(String status) throws IOException {
+        return query("WHERE status = ? ORDER BY seq", status);
+    }
+
+    @Override
+    public List<Reservation> search(String petId, String hospitalId, String status,
+                                    LocalDateTime from, LocalDateTime to) throws IOException {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (petId != null) {
+            conditions.add("pet_id = ?");
+            args.add(petId);
+        }
+        if (hospitalId != null) {
+            conditions.add("hospital_id = ?");
+            args.add(hospitalId);
+        }
+        if (status != null) {
+            conditions.add("status = ?");
+            args.add(status);
+        }
+        if (from != null) {
+            conditions.add("reservation_date_time >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            conditions.add("reservation_date_time <= ?");
+            args.add(to);
+        }
+        String where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+        String order = (from != null || to != null) ? "ORDER BY reservation_date_time, seq" : "ORDER BY seq";
+        return query(where + order, args.toArray());
+    }
+}
@@ -5,18 +5,32 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.petcare.model.AnalysisResult;
 import com.petcare.model.Hospital;
 import com.petcare.model.HospitalRecommendation;
+import com.petcare.model.Pet;
 import com.petcare.model.SymptomRequest;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -30,13 +44,25 @@ public class AIService {
     private final String apiUrl;
     private final String model;
     private final ObjectMapper objectMapper;
+    private final Duration callTimeout;
+    private final int maxAttempts;
+    private final Duration retryBaseDelay;
+    
+    @Autowired
+    private AnalysisCache analysisCache;
     
     public AIService(@Value("${ai.gemini.api.key}") String apiKey,
                      @Value("${ai.gemini.api.url}") String apiUrl,
-                     @Value("${ai.gemini.model}") String model) {
+                     @Value("${ai.gemini.model}") String model,
+                     @Value("${ai.gemini.timeout-seconds:30}") long timeoutSeconds,
+                     @Value("${ai.gemini.max-attempts:3}") int maxAttempts,
+                     @Value("${ai.gemini.retry-base-delay-ms:1000}") long retryBaseDelayMs) {
         this.apiKey = apiKey;
         this.apiUrl = apiUrl;
         this.model = model;
+        this.callTimeout = Duration.ofSeconds(timeoutSeconds);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBaseDelay = Duration.ofMillis(retryBaseDelayMs);
         this.objectMapper = new ObjectMapper();
         
         // API 키 검증 및 디버깅
@@ -66,52 +92,152 @@ public class AIService {
     }
     
     /**
-     * AI1: 증상 분석 및 구조화
+     * AI1: 증상 분석 및 구조화 (논블로킹, Gemini 응답을 기다리는 동안 스레드를 점유하지 않음)
+     * 같은 반려동물의 같은 증상 요청은 캐시된 결과를 사용합니다 (bypassCache=true면 항상 새로 분석).
+     * API 실패 시의 Mock 결과는 캐시하지 않습니다.
      */
-    public AnalysisResult analyzeSymptoms(SymptomRequest symptomRequest, String petInfo) {
-        try {
-            // 디버깅: 증상 정보 로그
-            System.out.println("=== 증상 분석 요청 ===");
-            System.out.println("선택한 증상: " + (symptomRequest.getSelectedSymptoms() != null ? symptomRequest.getSelectedSymptoms() : "없음"));
-            System.out.println("증상 상세 설명: " + symptomRequest.getMainComplaint());
-            System.out.println("경과 시간: " + symptomRequest.getOnsetHoursAgo() + "시간");
-            
+    public Mono<AnalysisResult> analyzeSymptoms(SymptomRequest symptomRequest, Pet pet, String petInfo) {
+        return analyzeSymptoms(symptomRequest, pet, petInfo, true);
+    }
+    
+    /**
+     * AI1 (fallback=false면 API 실패 시 Mock 결과 대신 오류를 그대로 전달)
+     */
+    public Mono<AnalysisResult> analyzeSymptoms(SymptomRequest symptomRequest, Pet pet, String petInfo, boolean fallback) {
+        String fingerprint = AnalysisCache.fingerprint(symptomRequest, pet);
+        if (!Boolean.TRUE.equals(symptomRequest.getBypassCache())) {
+            AnalysisResult cached = analysisCache.get(fingerprint);
+            if (cached != null) {
+                System.out.println("⚡ 증상 분석 캐시 사용 (Gemini 호출 생략) - 긴급도: " + cached.getUrgencyLevel()
+                        + ", 추천 진료과: " + cached.getRecommendedDepartment());
+                return Mono.just(cached);
+            }
+        }
+        
+        return Mono.defer(() -> {
             // 프롬프트 생성
             String prompt = buildAnalysisPrompt(symptomRequest, petInfo);
-            System.out.println("생성된 프롬프트 길이: " + prompt.length() + "자");
+            logAnalysisRequest(symptomRequest, prompt);
             
             // Gemini API 호출
-            String response = callGemini(prompt);
-            
+            return callGemini(prompt);
+        }).map(response -> {
             // 응답 파싱
             AnalysisResult result = parseAnalysisResponse(response, symptomRequest.getPetId());
-            System.out.println("✅ 분석 결과 - 긴급도: " + result.getUrgencyLevel() + ", 카테고리: " + result.getCategory());
-            System.out.println("✅ 추천 진료과: " + result.getRecommendedDepartment());
-            if (result.getDiseaseCandidates() != null && !result.getDiseaseCandidates().isEmpty()) {
-                System.out.println("✅ 가능한 질환: " + result.getDiseaseCandidates().stream()
-                    .map(d -> d.getName() + "(" + String.format("%.1f", d.getProbability() * 100) + "%)")
-                    .collect(Collectors.joining(", ")));
-            }
+            logAnalysisResult(result);
             
+            analysisCache.put(fingerprint, result);
             return result;
-            
-        } catch (Exception e) {
+        }).onErrorResume(e -> fallback, e -> {
             System.err.println("AI 분석 실패: " + e.getMessage());
             e.printStackTrace();
             // 실패 시 Mock 데이터 반환
-            return createMockAnalysisResult(symptomRequest.getPetId());
+            return Mono.just(createMockAnalysisResult(symptomRequest.getPetId()));
+        });
+    }
+    
+    /**
+     * AI1 스트리밍 버전 (Gemini streamGenerateContent)
+     * 생성 중인 응답에서 긴급도·카테고리·추천 진료과가 나오면 그 세 값만 채운 결과를 먼저 내보내고,
+     * 응답이 끝나면 전체 분석 결과를 내보냅니다. (마지막 값이 최종 결과, 캐시 적중·실패 시에는 최종 결과 하나만)
+     */
+    public Flux<AnalysisResult> analyzeSymptomsStream(SymptomRequest symptomRequest, Pet pet, String petInfo) {
+        String fingerprint = AnalysisCache.fingerprint(symptomRequest, pet);
+        if (!Boolean.TRUE.equals(symptomRequest.getBypassCache())) {
+            AnalysisResult cached = analysisCache.get(fingerprint);
+            if (cached != null) {
+                System.out.println("⚡ 증상 분석 캐시 사용 (Gemini 호출 생략) - 긴급도: " + cached.getUrgencyLevel()
+                        + ", 추천 진료과: " + cached.getRecommendedDepartment());
+                return Flux.just(cached);
+            }
+        }
+        
+        return Flux.defer(() -> {
+            String prompt = buildAnalysisPrompt(symptomRequest, petInfo);
+            logAnalysisRequest(symptomRequest, prompt);
+            
+            return Flux.defer(() -> {
+                // 재시도하면 처음부터 다시 받으므로 누적 텍스트도 시도마다 새로 시작
+                StringBuilder text = new StringBuilder();
+                boolean[] triageSent = {false};
+                return streamGemini(prompt)
+                        .concatMap(chunk -> {
+                            text.append(chunk);
+                            if (triageSent[0]) {
+                                return Mono.<AnalysisResult>empty();
+                            }
+                            String urgencyLevel = jsonStringField(text, "urgencyLevel");
+                            String category = jsonStringField(text, "category");
+                            String department = jsonStringField(text, "recommendedDepartment");
+                            if (urgencyLevel == null || category == null || department == null) {
+                                return Mono.<AnalysisResult>empty();
+                            }
+                            triageSent[0] = true;
+                            System.out.println("⚡ 긴급도 먼저 전달 - 긴급도: " + urgencyLevel + ", 카테고리: " + category);
+                            AnalysisResult triage = new AnalysisResult();
+                            triage.setPetId(symptomRequest.getPetId());
+                            triage.setUrgencyLevel(urgencyLevel);
+                            triage.setCategory(category);
+                            triage.setRecommendedDepartment(department);
+                            return Mono.just(triage);
+                        })
+                        .concatWith(Mono.fromCallable(() -> parseAnalysisText(text.toString(), symptomRequest.getPetId())));
+            }).retryWhen(retrySpec())
+                    .onErrorMap(AIService::toCallFailure);
+        })
+                .doOnNext(result -> {
+                    if (result.getDiseaseCandidates() != null) { // 먼저 보낸 긴급도 결과는 질환 목록이 없음
+                        logAnalysisResult(result);
+                        analysisCache.put(fingerprint, result);
+                    }
+                })
+                .onErrorResume(e -> {
+                    System.err.println("AI 분석 실패: " + e.getMessage());
+                    e.printStackTrace();
+                    // 실패 시 Mock 데이터 반환
+                    return Mono.just(createMockAnalysisResult(symptomRequest.getPetId()));
+                });
+    }
+    
+    private void logAnalysisRequest(SymptomRequest symptomRequest, String prompt) {
+        // 디버깅: 증상 정보 로그
+        System.out.println("=== 증상 분석 요청 ===");
+        System.out.println("선택한 증상: " + (symptomRequest.getSelectedSymptoms() != null ? symptomRequest.getSelectedSymptoms() : "없음"));
+        System.out.println("증상 상세 설명: " + symptomRequest.getMainComplaint());
+        System.out.println("경과 시간: " + symptomRequest.getOnsetHoursAgo() + "시간");
+        System.out.println("생성된 프롬프트 길이: " + prompt.length() + "자");
+    }
+    
+    private void logAnalysisResult(AnalysisResult result) {
+        System.out.println("✅ 분석 결과 - 긴급도: " + result.getUrgencyLevel() + ", 카테고리: " + result.getCategory());
+        System.out.println("✅ 추천 진료과: " + result.getRecommendedDepartment());
+        if (result.getDiseaseCandidates() != null && !result.getDiseaseCandidates().isEmpty()) {
+            System.out.println("✅ 가능한 질환: " + result.getDiseaseCandidates().stream()
+                .map(d -> d.getName() + "(" + String.format("%.1f", d.getProbability() * 100) + "%)")
+                .collect(Collectors.joining(", ")));
         }
     }
     
     /**
-     * AI2: 맞춤형 설명 및 병원 추천
+     * AI2: 맞춤형 설명 및 병원 추천 (논블로킹)
      */
-    public HospitalRecommendation recommendHospitals(
+    public Mono<HospitalRecommendation> recommendHospitals(
             AnalysisResult analysisResult, 
             String userLocation, 
             List<Hospital> availableHospitals) {
+        return recommendHospitals(analysisResult, userLocation, availableHospitals, true);
+    }
+    
+    /**
+     * AI2 (fallback=false면 API 실패 시 Mock 추천 대신 오류를 그대로 전달)
+     */
+    public Mono<HospitalRecommendation> recommendHospitals(
+            AnalysisResult analysisResult, 
+            String userLocation, 
+            List<Hospital> availableHospitals,
+            boolean fallback) {
         
-        try {
+        return Mono.defer(() -> {
             // 디버깅: 분석 결과 로그
             System.out.println("=== 병원 추천 요청 ===");
             System.out.println("분석 결과 - 긴급도: " + analysisResult.getUrgencyLevel());
@@ -123,20 +249,19 @@ public class AIService {
             String prompt = buildRecommendationPrompt(analysisResult, userLocation, availableHospitals);
             
             // Gemini API 호출
-            String response = callGemini(prompt);
-            
+            return callGemini(prompt);
+        }).map(response -> {
             // 응답 파싱
             HospitalRecommendation recommendation = parseRecommendationResponse(response, analysisResult, availableHospitals);
             System.out.println("최종 추천 병원 수: " + recommendation.getRecommendedHospitals().size());
             
             return recommendation;
-            
-        } catch (Exception e) {
+        }).onErrorResume(e -> fallback, e -> {
             System.err.println("병원 추천 실패: " + e.getMessage());
             e.printStackTrace();
             // 실패 시 Mock 데이터 반환
-            return createMockRecommendation(analysisResult, availableHospitals);
-        }
+            return Mono.just(createMockRecommendation(analysisResult, availableHospitals));
+        });
     }
     
     private String buildAnalysisPrompt(SymptomRequest symptomRequest, String petInfo) {
@@ -185,23 +310,23 @@ public class AIService {
         prompt.append("【응급 상황 체크】\n");
         if (symptomRequest.getEmergencyFlags() != null) {
             boolean hasEmergency = false;
-            if (symptomRequest.getEmergencyFlags().getDifficultyBreathing()) {
+            if (Boolean.TRUE.equals(symptomRequest.getEmergencyFlags().getDifficultyBreathing())) {
                 prompt.append("  ⚠️ 호흡 곤란: 예\n");
                 hasEmergency = true;
             }
-            if (symptomRequest.getEmergencyFlags().getContinuousVomiting()) {
+            if (Boolean.TRUE.equals(symptomRequest.getEmergencyFlags().getContinuousVomiting())) {
                 prompt.append("  ⚠️ 지속적인 구토: 예\n");
                 hasEmergency = true;
             }
-            if (symptomRequest.getEmergencyFlags().getCannotStand()) {
+            if (Boolean.TRUE.equals(symptomRequest.getEmergencyFlags().getCannotStand())) {
                 prompt.append("  ⚠️ 일어설 수 없음: 예\n");
                 hasEmergency = true;
             }
-            if (symptomRequest.getEmergencyFlags().getLossOfConsciousness()) {
+            if (Boolean.TRUE.equals(symptomRequest.getEmergencyFlags().getLossOfConsciousness())) {
                 prompt.append("  ⚠️ 의식 잃음: 예\n");
                 hasEmergency = true;
             }
-            if (symptomRequest.getEmergencyFlags().getSevereBleeding()) {
+            if (Boolean.TRUE.equals(symptomRequest.getEmergencyFlags().getSevereBleeding())) {
                 prompt.append("  ⚠️ 심한 출혈: 예\n");
                 hasEmergency = true;
             }
@@ -327,113 +452,133 @@ public class AIService {
         return prompt.toString();
     }
     
-    private String callGemini(String prompt) {
-        int maxRetries = 3;
-        long baseDelayMs = 1000; // 1초 (Gemini는 더 빠름)
-        
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            try {
-                // Gemini API 요청 형식
-                Map<String, Object> requestBody = new HashMap<>();
-                
-                // contents 배열 구성
-                List<Map<String, Object>> contents = new ArrayList<>();
-                Map<String, Object> content = new HashMap<>();
-                List<Map<String, String>> parts = new ArrayList<>();
-                Map<String, String> part = new HashMap<>();
-                part.put("text", prompt);
-                parts.add(part);
-                content.put("parts", parts);
-                contents.add(content);
-                requestBody.put("contents", contents);
-                
-                // Generation config
-                Map<String, Object> generationConfig = new HashMap<>();
-                generationConfig.put("temperature", 0.8);
-                generationConfig.put("topK", 40);
-                generationConfig.put("topP", 0.95);
-                generationConfig.put("maxOutputTokens", 8192);
-                requestBody.put("generationConfig", generationConfig);
-                
-                String jsonBody = objectMapper.writeValueAsString(requestBody);
-                
-                // Gemini API 엔드포인트: /models/{model}:generateContent?key={apiKey}
-                String endpoint = "/models/" + model + ":generateContent?key=" + apiKey;
-                
-                Mono<String> responseMono = webClient.post()
-                        .uri(endpoint)
+    /**
+     * Gemini generateContent 호출 (논블로킹)
+     * 429/503, 네트워크 오류, 시간 초과는 지수 백오프(기본 1초, 2초 ±50% 지터)로 재시도합니다.
+     * 재시도 대기는 타이머로 처리하므로 대기 중에도 요청 스레드를 잡아두지 않습니다.
+     */
+    private Mono<String> callGemini(String prompt) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(buildRequestBody(prompt)))
+                .flatMap(jsonBody -> webClient.post()
+                        // Gemini API 엔드포인트: /models/{model}:generateContent?key={apiKey}
+                        .uri("/models/" + model + ":generateContent?key=" + apiKey)
                         .bodyValue(jsonBody)
                         .retrieve()
-                        .bodyToMono(String.class);
-                
-                return responseMono.block();
-                
-            } catch (org.springframework.web.reactive.function.client.WebClientResponseException e) {
-                int statusCode = e.getStatusCode().value();
-                
-                // 429 Too Many Requests 또는 503 Service Unavailable 오류 처리 (재시도 가능)
-                if (statusCode == 429 || statusCode == 503) {
-                    if (attempt < maxRetries) {
-                        long delayMs = baseDelayMs * (long) Math.pow(2, attempt - 1); // 지수 백오프: 1초, 2초, 4초
-                        String errorType = statusCode == 429 ? "Rate Limit" : "Service Unavailable (모델 과부하)";
-                        System.out.println("⚠️ " + errorType + " 도달. " + delayMs + "ms 후 재시도합니다... (시도 " + attempt + "/" + maxRetries + ")");
-                        try {
-                            Thread.sleep(delayMs);
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                            throw new RuntimeException("재시도 중단됨", ie);
-                        }
-                        continue; // 재시도
-                    } else {
-                        String errorType = statusCode == 429 ? "Rate Limit" : "Service Unavailable";
-                        System.err.println("❌ " + errorType + " 오류: 최대 재시도 횟수 초과. 잠시 후 다시 시도해주세요.");
-                        throw new RuntimeException("Gemini API 호출 실패: " + errorType + " (" + statusCode + "). 잠시 후 다시 시도해주세요.", e);
-                    }
-                } else {
-                    // 다른 HTTP 오류는 즉시 throw
-                    throw new RuntimeException("Gemini API 호출 실패: " + e.getStatusCode() + " " + e.getMessage(), e);
-                }
-            } catch (org.springframework.web.reactive.function.client.WebClientRequestException e) {
-                // Connection reset, Connection timeout 등 네트워크 오류 처리 (재시도 가능)
-                if (attempt < maxRetries) {
-                    long delayMs = baseDelayMs * (long) Math.pow(2, attempt - 1); // 지수 백오프: 1초, 2초, 4초
-                    System.out.println("⚠️ 네트워크 오류 발생 (" + e.getMessage() + "). " + delayMs + "ms 후 재시도합니다... (시도 " + attempt + "/" + maxRetries + ")");
+                        .bodyToMono(String.class)
+                        .timeout(callTimeout))
+                .retryWhen(retrySpec())
+                .onErrorMap(AIService::toCallFailure);
+    }
+    
+    /**
+     * Gemini streamGenerateContent 호출 (alt=sse, 생성된 텍스트 조각을 도착하는 대로 내보냄)
+     * 시간 제한은 조각 사이 간격에 적용하고, 재시도는 호출하는 쪽에서 처음부터 다시 받도록 합니다.
+     */
+    private Flux<String> streamGemini(String prompt) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(buildRequestBody(prompt)))
+                .flatMapMany(jsonBody -> webClient.post()
+                        .uri("/models/" + model + ":streamGenerateContent?alt=sse&key=" + apiKey)
+                        .bodyValue(jsonBody)
+                        .retrieve()
+                        .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                        .timeout(callTimeout))
+                .mapNotNull(ServerSentEvent::data)
+                .handle((data, sink) -> {
                     try {
-                        Thread.sleep(delayMs);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("재시도 중단됨", ie);
-                    }
-                    continue; // 재시도
-                } else {
-                    System.err.println("❌ 네트워크 오류: 최대 재시도 횟수 초과. 잠시 후 다시 시도해주세요.");
-                    throw new RuntimeException("Gemini API 호출 실패: 네트워크 오류 (" + e.getMessage() + "). 잠시 후 다시 시도해주세요.", e);
-                }
-            } catch (Exception e) {
-                // 기타 예외도 재시도 가능한 경우 처리
-                Throwable cause = e.getCause();
-                if (cause instanceof java.net.SocketException || 
-                    cause instanceof java.net.ConnectException ||
-                    e.getMessage() != null && (e.getMessage().contains("Connection reset") || 
-                                               e.getMessage().contains("Connection refused") ||
-                                               e.getMessage().contains("timeout"))) {
-                    if (attempt < maxRetries) {
-                        long delayMs = baseDelayMs * (long) Math.pow(2, attempt - 1);
-                        System.out.println("⚠️ 연결 오류 발생 (" + e.getMessage() + "). " + delayMs + "ms 후 재시도합니다... (시도 " + attempt + "/" + maxRetries + ")");
-                        try {
-                            Thread.sleep(delayMs);
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                            throw new RuntimeException("재시도 중단됨", ie);
+                        // 조각마다 candidates[0].content.parts[].text (마지막 조각은 텍스트 없이 finishReason만 있을 수 있음)
+                        StringBuilder text = new StringBuilder();
+                        for (JsonNode part : objectMapper.readTree(data).path("candidates").path(0).path("content").path("parts")) {
+                            text.append(part.path("text").asText(""));
+                        }
+                        if (text.length() > 0) {
+                            sink.next(text.toString());
                         }
-                        continue; // 재시도
+                    } catch (IOException e) {
+                        sink.error(new RuntimeException("스트리밍 응답 형식 오류: " + e.getMessage(), e));
                     }
-                }
-                throw new RuntimeException("Gemini API 호출 실패: " + e.getMessage(), e);
+                });
+    }
+    
+    private Retry retrySpec() {
+        return Retry.backoff(maxAttempts - 1, retryBaseDelay)
+                .jitter(0.5)
+                .filter(AIService::isRetryable)
+                .doBeforeRetry(signal -> System.out.println("⚠️ " + describeFailure(signal.failure())
+                        + ". 재시도합니다... (시도 " + (signal.totalRetries() + 1) + "/" + maxAttempts + ")"))
+                .onRetryExhaustedThrow((spec, signal) -> {
+                    System.err.println("❌ " + describeFailure(signal.failure()) + ": 최대 재시도 횟수 초과. 잠시 후 다시 시도해주세요.");
+                    return signal.failure();
+                });
+    }
+    
+    private static RuntimeException toCallFailure(Throwable e) {
+        return new RuntimeException("Gemini API 호출 실패: " + describeFailure(e)
+                + (isRetryable(e) ? ". 잠시 후 다시 시도해주세요." : ""), e);
+    }
+    
+    /**
+     * 아직 생성 중인 JSON 텍스트에서 문자열 필드 값 찾기 (값이 끝까지 도착하지 않았으면 null)
+     */
+    private static String jsonStringField(CharSequence json, String name) {
+        Matcher matcher = Pattern.compile("\"" + name + "\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"").matcher(json);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+    
+    private Map<String, Object> buildRequestBody(String prompt) {
+        // Gemini API 요청 형식
+        Map<String, Object> requestBody = new HashMap<>();
+        
+        // contents 배열 구성
+        List<Map<String, Object>> contents = new ArrayList<>();
+        Map<String, Object> content = new HashMap<>();
+        List<Map<String, String>> parts = new ArrayList<>();
+        Map<String, String> part = new HashMap<>();
+        part.put("text", prompt);
+        parts.add(part);
+        content.put("parts", parts);
+        contents.add(content);
+        requestBody.put("contents", contents);
+        
+        // Generation config
+        Map<String, Object> generationConfig = new HashMap<>();
+        generationConfig.put("temperature", 0.8);
+        generationConfig.put("topK", 40);
+        generationConfig.put("topP", 0.95);
+        generationConfig.put("maxOutputTokens", 8192);
+        requestBody.put("generationConfig", generationConfig);
+        
+        return requestBody;
+    }
+    
+    /**
+     * 재시도할 오류인지 (429 Too Many Requests, 503 모델 과부하, 연결 실패·끊김, 시간 초과)
+     */
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException) {
+            int statusCode = ((WebClientResponseException) e).getStatusCode().value();
+            return statusCode == 429 || statusCode == 503;
+        }
+        return e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+    
+    private static String describeFailure(Throwable e) {
+        if (e instanceof WebClientResponseException) {
+            int statusCode = ((WebClientResponseException) e).getStatusCode().value();
+            if (statusCode == 429) {
+                return "Rate Limit (429)";
             }
+            if (statusCode == 503) {
+                return "Service Unavailable (503, 모델 과부하)";
+            }
+            return ((WebClientResponseException) e).getStatusCode() + " " + e.getMessage();
         }
-        
-        throw new RuntimeException("Gemini API 호출 실패: 최대 재시도 횟수 초과");
+        if (e instanceof WebClientRequestException) {
+            return "네트워크 오류 (" + e.getMessage() + ")";
+        }
+        if (e instanceof TimeoutException) {
+            return "응답 시간 초과";
+        }
+        return e.getMessage();
     }
     
     private AnalysisResult parseAnalysisResponse(String response, String petId) {
@@ -457,44 +602,49 @@ public class AIService {
                 throw new RuntimeException("API 응답 형식 오류: parts가 없습니다");
             }
             
-            String contentText = parts.get(0).get("text").asText();
-            
-            // JSON 부분만 추출 (마크다운 코드 블록 제거)
-            contentText = contentText.replaceAll("```json\\s*", "").replaceAll("```\\s*", "").trim();
-            
-            JsonNode analysisJson = objectMapper.readTree(contentText);
-            
-            AnalysisResult result = new AnalysisResult();
-            result.setPetId(petId);
-            result.setSymptomId("symptom_" + System.currentTimeMillis());
-            result.setUrgencyLevel(analysisJson.get("urgencyLevel").asText());
-            result.setCategory(analysisJson.get("category").asText());
-            result.setRecommendedDepartment(analysisJson.get("recommendedDepartment").asText());
-            result.setDetailedAnalysis(analysisJson.has("detailedAnalysis") ? analysisJson.get("detailedAnalysis").asText() : "");
-            
-            List<AnalysisResult.DiseaseCandidate> diseaseCandidates = new ArrayList<>();
-            JsonNode diseases = analysisJson.get("diseaseCandidates");
-            if (diseases != null && diseases.isArray()) {
-                for (JsonNode disease : diseases) {
-                    AnalysisResult.DiseaseCandidate diseaseCandidate = new AnalysisResult.DiseaseCandidate();
-                    diseaseCandidate.setName(disease.get("name").asText());
-                    diseaseCandidate.setDescription(disease.has("description") ? disease.get("description").asText() : "");
-                    diseaseCandidate.setSymptoms(disease.has("symptoms") ? disease.get("symptoms").asText() : "");
-                    diseaseCandidate.setCause(disease.has("cause") ? disease.get("cause").asText() : "");
-                    diseaseCandidate.setTreatment(disease.has("treatment") ? disease.get("treatment").asText() : "");
-                    diseaseCandidate.setPrevention(disease.has("prevention") ? disease.get("prevention").asText() : "");
-                    diseaseCandidate.setProbability(disease.has("probability") ? disease.get("probability").asDouble() : 0.5);
-                    diseaseCandidates.add(diseaseCandidate);
-                }
-            }
-            result.setDiseaseCandidates(diseaseCandidates);
-            
-            return result;
+            return parseAnalysisText(parts.get(0).get("text").asText(), petId);
         } catch (Exception e) {
             throw new RuntimeException("응답 파싱 실패: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * 모델이 생성한 분석 JSON 텍스트 → AnalysisResult
+     */
+    private AnalysisResult parseAnalysisText(String contentText, String petId) throws IOException {
+        // JSON 부분만 추출 (마크다운 코드 블록 제거)
+        contentText = contentText.replaceAll("```json\\s*", "").replaceAll("```\\s*", "").trim();
+        
+        JsonNode analysisJson = objectMapper.readTree(contentText);
+        
+        AnalysisResult result = new AnalysisResult();
+        result.setPetId(petId);
+        result.setSymptomId("symptom_" + UUID.randomUUID());
+        result.setUrgencyLevel(analysisJson.get("urgencyLevel").asText());
+        result.setCategory(analysisJson.get("category").asText());
+        result.setRecommendedDepartment(analysisJson.get("recommendedDepartment").asText());
+        result.setDetailedAnalysis(analysisJson.has("detailedAnalysis") ? analysisJson.get("detailedAnalysis").asText() : "");
+        
+        List<AnalysisResult.DiseaseCandidate> diseaseCandidates = new ArrayList<>();
+        JsonNode diseases = analysisJson.get("diseaseCandidates");
+        if (diseases != null && diseases.isArray()) {
+            for (JsonNode disease : diseases) {
+                AnalysisResult.DiseaseCandidate diseaseCandidate = new AnalysisResult.DiseaseCandidate();
+                diseaseCandidate.setName(disease.get("name").asText());
+                diseaseCandidate.setDescription(disease.has("description") ? disease.get("description").asText() : "");
+                diseaseCandidate.setSymptoms(disease.has("symptoms") ? disease.get("symptoms").asText() : "");
+                diseaseCandidate.setCause(disease.has("cause") ? disease.get("cause").asText() : "");
+                diseaseCandidate.setTreatment(disease.has("treatment") ? disease.get("treatment").asText() : "");
+                diseaseCandidate.setPrevention(disease.has("prevention") ? disease.get("prevention").asText() : "");
+                diseaseCandidate.setProbability(disease.has("probability") ? disease.get("probability").asDouble() : 0.5);
+                diseaseCandidates.add(diseaseCandidate);
+            }
+        }
+        result.setDiseaseCandidates(diseaseCandidates);
+        
+        return result;
+    }
+    
     private HospitalRecommendation parseRecommendationResponse(String response, AnalysisResult analysisResult, List<Hospital> hospitals) {
         try {
             // 사용 가능한 병원이 없는 경우
@@ -591,14 +741,10 @@ public class AIService {
                     // 이미 추천된 병원 ID 목록 (위에서 생성한 alreadyRecommendedIds 사용)
                     System.out.println("이미 추천된 병원 ID: " + alreadyRecommendedIds);
                     
-                    // 거리순으로 정렬된 병원 목록에서 아직 추천되지 않은 병원 선택
+                    // 추천 순위대로 정렬된 병원 목록에서 아직 추천되지 않은 병원 선택
+                    // (목록은 진료과 가중치를 반영한 순위이므로 distanceKm로 다시 정렬하지 않음)
                     List<Hospital> remainingHospitals = hospitals.stream()
                             .filter(h -> !alreadyRecommendedIds.contains(h.getId()))
-                            .sorted((h1, h2) -> {
-                                Double d1 = h1.getDistanceKm() != null ? h1.getDistanceKm() : Double.MAX_VALUE;
-                                Double d2 = h2.getDistanceKm() != null ? h2.getDistanceKm() : Double.MAX_VALUE;
-                                return d1.compareTo(d2);
-                            })
                             .collect(Collectors.toList());
                     
                     System.out.println("남은 병원 수: " + remainingHospitals.size());
@@ -616,14 +762,9 @@ public class AIService {
                     System.out.println("✅ 최종 추천 병원 수: " + recommendedHospitals.size() + "개 (사용 가능한 병원: " + hospitals.size() + "개)");
                 }
             } else {
-                // AI 응답에 recommendedHospitals가 없는 경우, 거리순으로 최대 3개 선택 (사용 가능한 병원 수만큼)
+                // AI 응답에 recommendedHospitals가 없는 경우, 추천 순위대로 최대 3개 선택 (사용 가능한 병원 수만큼)
                 int maxRecommendations = Math.min(3, hospitals.size());
                 List<Hospital> sortedHospitals = hospitals.stream()
-                        .sorted((h1, h2) -> {
-                            Double d1 = h1.getDistanceKm() != null ? h1.getDistanceKm() : Double.MAX_VALUE;
-                            Double d2 = h2.getDistanceKm() != null ? h2.getDistanceKm() : Double.MAX_VALUE;
-                            return d1.compareTo(d2);
-                        })
                         .limit(maxRecommendations)
                         .collect(Collectors.toList());
                 
@@ -650,7 +791,7 @@ public class AIService {
     private AnalysisResult createMockAnalysisResult(String petId) {
         AnalysisResult result = new AnalysisResult();
         result.setPetId(petId);
-        result.setSymptomId("symptom_" + System.currentTimeMillis());
+        result.setSymptomId("symptom_" + UUID.randomUUID());
         result.setUrgencyLevel("medium");
         result.setCategory("소화기");
         result.setRecommendedDepartment("내과");
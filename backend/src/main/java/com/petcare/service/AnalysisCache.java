@@ -0,0 +1,139 @@
+package com.petcare.service;
+
+import com.petcare.model.AnalysisResult;
+import com.petcare.model.Pet;
+import com.petcare.model.SymptomRequest;
+import com.petcare.util.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * AI1(증상 분석) 결과 캐시
+ *
+ * 같은 반려동물이 같은 증상을 다시 제출하면 Gemini를 다시 호출하지 않고 이전 분석 결과를 사용합니다.
+ * 키는 요청을 정규화한 지문(fingerprint)입니다: 선택 증상(정렬·중복 제거), 증상 설명(공백·대소문자·끝 문장부호 정리),
+ * 경과 시간 구간, 응급 플래그, 반려동물 정보(id, 종류, 나이, 몸무게).
+ */
+@Component
+public class AnalysisCache {
+    
+    // 경과 시간 구간 경계 (시간): ~1, ~6, ~24, ~72, 72 이상
+    private static final int[] ONSET_BUCKETS = {1, 6, 24, 72};
+    
+    private final LruCache<String, AnalysisResult> cache;
+    
+    public AnalysisCache(@Value("${app.analysis.cache.size:1000}") int size,
+                         @Value("${app.analysis.cache.ttl-minutes:30}") long ttlMinutes) {
+        this.cache = new LruCache<>(size, ttlMinutes * 60_000);
+    }
+    
+    /**
+     * 캐시된 분석 결과 (없거나 만료되면 null)
+     * 돌려주는 값은 symptomId만 새로 붙인 복사본입니다.
+     */
+    public AnalysisResult get(String fingerprint) {
+        AnalysisResult cached = cache.get(fingerprint);
+        if (cached == null) {
+            return null;
+        }
+        return new AnalysisResult(cached.getPetId(), "symptom_" + UUID.randomUUID(),
+                cached.getDiseaseCandidates(), cached.getUrgencyLevel(), cached.getCategory(),
+                cached.getRecommendedDepartment(), cached.getDetailedAnalysis());
+    }
+    
+    public void put(String fingerprint, AnalysisResult result) {
+        cache.put(fingerprint, result);
+    }
+    
+    public Map<String, Object> getStats() {
+        return cache.stats();
+    }
+    
+    /**
+     * 요청 + 반려동물 정보의 정규화 지문 (SHA-256 16진수)
+     */
+    public static String fingerprint(SymptomRequest request, Pet pet) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append("pet=").append(pet.getId())
+                .append('|').append(normalize(pet.getType()))
+                .append('|').append(pet.getAgeYears())
+                .append('|').append(pet.getWeightKg() != null ? String.format(Locale.ROOT, "%.1f", pet.getWeightKg()) : null);
+    
+        TreeSet<String> symptoms = new TreeSet<>();
+        if (request.getSelectedSymptoms() != null) {
+            for (String symptom : request.getSelectedSymptoms()) {
+                String normalized = normalize(symptom);
+                if (normalized != null && !normalized.isEmpty()) {
+                    symptoms.add(normalized);
+                }
+            }
+        }
+        canonical.append("\nsymptoms=").append(String.join(",", symptoms));
+    
+        String complaint = normalize(request.getMainComplaint());
+        if (complaint != null) {
+            complaint = complaint.replaceAll("[.!?~…\\s]+$", "");
+        }
+        canonical.append("\ncomplaint=").append(complaint);
+        canonical.append("\nonset=").append(onsetBucket(request.getOnsetHoursAgo()));
+    
+        SymptomRequest.EmergencyFlags flags = request.getEmergencyFlags();
+        List<Boolean> flagValues = new ArrayList<>();
+        if (flags != null) {
+            flagValues.add(flags.getDifficultyBreathing());
+            flagValues.add(flags.getContinuousVomiting());
+            flagValues.add(flags.getCannotStand());
+            flagValues.add(flags.getLossOfConsciousness());
+            flagValues.add(flags.getSevereBleeding());
+        }
+        canonical.append("\nflags=");
+        for (Boolean flag : flagValues) {
+            canonical.append(Boolean.TRUE.equals(flag) ? '1' : '0');
+        }
+        return sha256(canonical.toString());
+    }
+    
+    private static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC);
+        return normalized.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+    
+    private static String onsetBucket(Integer hours) {
+        if (hours == null) {
+            return "?";
+        }
+        for (int limit : ONSET_BUCKETS) {
+            if (hours < limit) {
+                return "<" + limit;
+            }
+        }
+        return ">=" + ONSET_BUCKETS[ONSET_BUCKETS.length - 1];
+    }
+    
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.petcare.service;
+
+import com.petcare.index.HospitalRanker;
+import com.petcare.index.OpeningHours;
+import com.petcare.model.AnalysisResult;
+import com.petcare.model.Hospital;
+import com.petcare.model.HospitalRecommendation;
+import com.petcare.model.SymptomRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 규칙 기반 응급 안내 (응급 상황 체크 항목이 하나라도 있으면 Gemini를 기다리지 않고 바로 응답)
+ *
+ * 긴급도는 항상 emergency, 추천 진료과는 응급의학과이며, 지금 진료 중인 가까운 병원 중
+ * 24시간·응급의학과 병원을 앞에 둡니다. AI 분석은 SymptomAnalysisService가 뒤이어 실행해 같은 symptomId의 결과를 갱신합니다.
+ */
+@Service
+public class EmergencyTriageService {
+    
+    public static final String EMERGENCY_DEPARTMENT = "응급의학과";
+    
+    private static final int MAX_HOSPITALS = 3;
+    
+    @Autowired
+    private ShortlistService shortlistService;
+    
+    /**
+     * 응급 상황 체크 항목이 하나라도 예인지
+     */
+    public static boolean isEmergency(SymptomRequest symptomRequest) {
+        SymptomRequest.EmergencyFlags flags = symptomRequest.getEmergencyFlags();
+        return flags != null && (Boolean.TRUE.equals(flags.getDifficultyBreathing())
+                || Boolean.TRUE.equals(flags.getContinuousVomiting())
+                || Boolean.TRUE.equals(flags.getCannotStand())
+                || Boolean.TRUE.equals(flags.getLossOfConsciousness())
+                || Boolean.TRUE.equals(flags.getSevereBleeding()));
+    }
+    
+    /**
+     * 응급 안내 + 지금 진료 중인 가까운 응급 병원 (AI 호출 없음)
+     */
+    public HospitalRecommendation recommend(SymptomRequest symptomRequest, ShortlistService.PreparedShortlist prepared) {
+        SymptomRequest.EmergencyFlags flags = symptomRequest.getEmergencyFlags();
+        List<String> signs = new ArrayList<>();
+        List<String> actions = new ArrayList<>();
+        String category = "기타";
+        if (Boolean.TRUE.equals(flags.getDifficultyBreathing())) {
+            signs.add("호흡 곤란");
+            actions.add("목줄·하네스를 풀고 가슴을 누르지 않는 자세로 안아서 이동하세요.");
+            category = "호흡기";
+        }
+        if (Boolean.TRUE.equals(flags.getContinuousVomiting())) {
+            signs.add("지속적인 구토");
+            actions.add("물이나 음식을 억지로 먹이지 말고, 토사물이 기도를 막지 않도록 머리를 낮게 해주세요.");
+            category = "소화기";
+        }
+        if (Boolean.TRUE.equals(flags.getCannotStand())) {
+            signs.add("일어설 수 없음");
+            actions.add("단단한 판이나 담요 위에 눕혀 몸이 최대한 움직이지 않게 옮기세요.");
+        }
+        if (Boolean.TRUE.equals(flags.getLossOfConsciousness())) {
+            signs.add("의식 잃음");
+            actions.add("옆으로 눕혀 기도를 확보하고, 입 안에 손을 넣지 마세요.");
+        }
+        if (Boolean.TRUE.equals(flags.getSevereBleeding())) {
+            signs.add("심한 출혈");
+            actions.add("깨끗한 천으로 상처를 세게 눌러 지혈하면서 이동하세요.");
+        }
+        if (signs.size() > 1) {
+            category = "기타"; // 여러 계통의 응급 증상
+        }
+        String signText = String.join(", ", signs);
+    
+        AnalysisResult analysisResult = new AnalysisResult();
+        analysisResult.setPetId(symptomRequest.getPetId());
+        analysisResult.setSymptomId("symptom_" + UUID.randomUUID());
+        analysisResult.setUrgencyLevel("emergency");
+        analysisResult.setCategory(category);
+        analysisResult.setRecommendedDepartment(EMERGENCY_DEPARTMENT);
+        analysisResult.setDetailedAnalysis("응급 상황 체크 항목(" + signText + ")에 해당하여 응급으로 분류했습니다. "
+                + "AI 상세 분석은 잠시 후 결과 조회에서 확인할 수 있습니다.");
+        analysisResult.setDiseaseCandidates(new ArrayList<>());
+    
+        // 지금 진료 중인 병원만 (응급의학과 거리 가중치 적용), 그중 24시간·응급의학과 병원을 앞으로
+        // (진료 중인 병원이 없으면 ShortlistService가 조건을 풀어 가까운 병원을 돌려줌)
+        LocalDateTime now = OpeningHours.now();
+        HospitalRanker.Ranking ranking = shortlistService.getShortlist(prepared, EMERGENCY_DEPARTMENT, "emergency", now);
+        List<Hospital> hospitals = ranking.toHospitals();
+        List<Hospital> ordered = new ArrayList<>();
+        for (Hospital hospital : hospitals) {
+            if (isEmergencyCapable(hospital)) {
+                ordered.add(hospital);
+            }
+        }
+        for (Hospital hospital : hospitals) {
+            if (!isEmergencyCapable(hospital)) {
+                ordered.add(hospital);
+            }
+        }
+    
+        List<HospitalRecommendation.RecommendedHospital> recommendedHospitals = new ArrayList<>();
+        for (int i = 0; i < Math.min(MAX_HOSPITALS, ordered.size()); i++) {
+            Hospital hospital = ordered.get(i);
+            recommendedHospitals.add(new HospitalRecommendation.RecommendedHospital(hospital, reasonFor(hospital, now), i + 1));
+        }
+    
+        HospitalRecommendation recommendation = new HospitalRecommendation();
+        recommendation.setAnalysisResult(analysisResult);
+        recommendation.setUserFriendlyMessage("응급 증상(" + signText + ")이 있습니다. 지금 바로 가까운 병원에 전화로 상황을 알리고 방문하세요. "
+                + "아래 병원은 현재 진료 중인 가까운 병원 중 24시간·응급의학과 병원을 먼저 보여드립니다.");
+        recommendation.setImmediateActions(numbered(actions));
+        recommendation.setWatchFor("1. 잇몸·혀 색이 창백하거나 파랗게 변하는지\n2. 호흡이 더 빨라지거나 약해지는지\n3. 부르면 반응하는지");
+        recommendation.setRecommendedHospitals(recommendedHospitals);
+        recommendation.setPreliminary(true);
+    
+        System.out.println("🚨 응급 안내 즉시 응답 (" + signText + ") - 병원 " + recommendedHospitals.size() + "개");
+        return recommendation;
+    }
+    
+    private static boolean isEmergencyCapable(Hospital hospital) {
+        return (hospital.getDepartments() != null && hospital.getDepartments().contains(EMERGENCY_DEPARTMENT))
+                || (hospital.getOperatingHours() != null && hospital.getOperatingHours().contains("24시간"));
+    }
+    
+    private static String reasonFor(Hospital hospital, LocalDateTime now) {
+        List<String> reasons = new ArrayList<>();
+        OpeningHours hours = OpeningHours.parse(hospital.getOperatingHours());
+        if (hours != null && hours.isOpenAt(now)) {
+            reasons.add("현재 진료 중");
+        }
+        if (hospital.getOperatingHours() != null && hospital.getOperatingHours().contains("24시간")) {
+            reasons.add("24시간 운영");
+        }
+        if (hospital.getDepartments() != null && hospital.getDepartments().contains(EMERGENCY_DEPARTMENT)) {
+            reasons.add("응급의학과 진료");
+        }
+        if (hospital.getDistanceKm() != null) {
+            reasons.add(String.format("약 %.1fkm", hospital.getDistanceKm()));
+        }
+        return String.join(", ", reasons) + ". 출발 전에 전화로 응급 진료가 가능한지 확인하세요.";
+    }
+    
+    private static String numbered(List<String> items) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                text.append('\n');
+            }
+            text.append(i + 1).append(". ").append(items.get(i));
+        }
+        return text.toString();
+    }
+}
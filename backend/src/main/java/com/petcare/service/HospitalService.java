@@ -1,53 +1,278 @@
 package com.petcare.service;
 
+import com.petcare.index.HospitalIndex;
+import com.petcare.index.HospitalStore;
+import com.petcare.index.KdTree;
+import com.petcare.index.OpeningHours;
+import com.petcare.index.Region;
 import com.petcare.model.Hospital;
-import com.petcare.util.FileDataManager;
+import com.petcare.model.NearbyHospitalPage;
+import com.petcare.repository.HospitalRepository;
+import com.petcare.util.BackgroundThreads;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
 
 @Service
 public class HospitalService {
     
-    private static final String HOSPITALS_FILE = "hospitals.json";
+    private static final double MAX_NEARBY_RADIUS_KM = 100;
+    private static final int MAX_NEARBY_LIMIT = 100;
+    
+    // 병원 데이터 변경 후 스냅샷을 다시 만들기까지 기다리는 시간 (연속 변경을 묶음)
+    private static final long RELOAD_DELAY_MS = 200;
+    
+    @Autowired
+    private HospitalRepository hospitalRepository;
     
     @Autowired
-    private FileDataManager fileDataManager;
+    private RegionService regionService;
     
-    public HospitalService() {
-        // hospitals.json 파일에서 병원 데이터를 로드합니다.
+    // 현재 병원 스냅샷 (읽기는 락 없이 get, 교체는 reloadHospitals에서 통째로 set)
+    private final AtomicReference<HospitalIndex> snapshot = new AtomicReference<>();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService reloadExecutor;
+    
+    /**
+     * @param virtualThreads 스냅샷 재생성 스레드를 가상 스레드로 실행 (Java 21 이상에서만 적용)
+     */
+    public HospitalService(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // 병원 데이터는 스냅샷을 만들 때 저장소에서 읽습니다.
+        this.reloadExecutor = Executors.newSingleThreadScheduledExecutor(
+                BackgroundThreads.factory("hospital-snapshot", virtualThreads));
     }
     
+    /**
+     * 전체 병원 (현재 스냅샷, 원소는 꺼낼 때 만들어짐)
+     */
     public List<Hospital> getAllHospitals() throws IOException {
-        List<Hospital> hospitals = fileDataManager.loadListFromFile(HOSPITALS_FILE, Hospital.class);
-        if (hospitals.isEmpty()) {
+        return getHospitalIndex().getStore().view();
+    }
+    
+    /**
+     * 저장소의 병원 데이터를 열 저장소로 스트리밍 (스냅샷 생성용, 비어 있으면 샘플 데이터 생성)
+     */
+    private HospitalStore loadHospitals() throws IOException {
+        HospitalStore store = hospitalRepository.loadStore();
+        if (store.size() == 0) {
             // 초기 데이터가 없으면 샘플 데이터 생성
-            hospitals = createSampleHospitals();
-            fileDataManager.saveListToFile(HOSPITALS_FILE, hospitals);
+            List<Hospital> hospitals = createSampleHospitals();
+            hospitalRepository.saveAll(hospitals);
+            store = HospitalStore.of(hospitals);
         }
-        return hospitals;
+        return store;
+    }
+    
+    /**
+     * 병원 데이터 변경 감시 시작 + 첫 스냅샷을 백그라운드에서 미리 생성
+     */
+    @PostConstruct
+    public void startSnapshotReloader() {
+        hospitalRepository.addChangeListener(this::scheduleReload);
+        scheduleReload();
+    }
+    
+    @PreDestroy
+    public void stopSnapshotReloader() {
+        reloadExecutor.shutdownNow();
+    }
+    
+    /**
+     * 현재 병원 스냅샷 (좌표 k-d 트리, 진료과 비트셋 등)
+     * 스냅샷은 데이터가 바뀌면 백그라운드에서 새로 만들어 교체하므로 요청마다 다시 만들지 않습니다.
+     * 아직 한 번도 만들지 않았을 때만 호출한 스레드에서 생성합니다.
+     */
+    public HospitalIndex getHospitalIndex() throws IOException {
+        HospitalIndex index = snapshot.get();
+        if (index != null) {
+            return index;
+        }
+        reloadLock.lock();
+        try {
+            index = snapshot.get();
+            return index != null ? index : reloadHospitals();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+    
+    /**
+     * 저장소에서 병원 데이터를 다시 읽어 새 스냅샷으로 교체
+     * 교체 전까지 조회는 이전 스냅샷을 그대로 사용합니다.
+     */
+    public HospitalIndex reloadHospitals() throws IOException {
+        reloadLock.lock();
+        try {
+            long start = System.nanoTime();
+            HospitalIndex current = snapshot.get();
+            HospitalIndex index = new HospitalIndex(loadHospitals(), current != null ? current.getVersion() + 1 : 1);
+            snapshot.set(index);
+            System.out.println("🗺️ 병원 스냅샷 v" + index.getVersion() + " 생성: " + index.size() + "개 ("
+                    + (System.nanoTime() - start) / 1_000_000 + "ms)");
+            return index;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+    
+    /**
+     * 스냅샷 재생성 예약 (짧은 시간에 여러 번 바뀌면 한 번만 다시 만듦)
+     */
+    private void scheduleReload() {
+        if (!reloadScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            reloadExecutor.schedule(() -> {
+                reloadScheduled.set(false);
+                try {
+                    reloadHospitals();
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("⚠️ 병원 스냅샷 재생성 실패 (이전 스냅샷 유지): " + e.getMessage());
+                }
+            }, RELOAD_DELAY_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            reloadScheduled.set(false); // 종료 중
+        }
+    }
+    
+    /**
+     * 좌표 주변 병원 (가까운 순, 커서 페이징)
+     * 좌표 대신 region(주소)을 주면 해석한 행정구역의 중심 좌표를 사용합니다.
+     * 결과 병원은 distanceKm를 채운 복사본이며, cursor는 이전 페이지 응답의 nextCursor 값입니다.
+     */
+    public NearbyHospitalPage findNearbyHospitals(Double latitude, Double longitude, String region,
+                                                  double radiusKm, String department, boolean openNow,
+                                                  int limit, String cursor) throws IOException {
+        if (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new IllegalArgumentException("radiusKm는 0보다 크고 " + MAX_NEARBY_RADIUS_KM + " 이하여야 합니다.");
+        }
+        if (limit <= 0 || limit > MAX_NEARBY_LIMIT) {
+            throw new IllegalArgumentException("limit는 1 이상 " + MAX_NEARBY_LIMIT + " 이하여야 합니다.");
+        }
+        String regionId = null;
+        if (latitude == null || longitude == null) {
+            Region resolved = region != null ? regionService.resolve(region) : null;
+            if (resolved == null) {
+                throw new IllegalArgumentException("lat/lon 또는 찾을 수 있는 region이 필요합니다.");
+            }
+            latitude = resolved.getLatitude();
+            longitude = resolved.getLongitude();
+            regionId = resolved.getId();
+        } else if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            throw new IllegalArgumentException("좌표 범위가 올바르지 않습니다.");
+        }
+        
+        HospitalIndex index = getHospitalIndex();
+        BitSet allowed = department != null ? index.department(department) : null;
+        if (openNow) {
+            BitSet open = index.openAt(OpeningHours.now());
+            if (allowed != null) {
+                allowed.and(open);
+            } else {
+                allowed = open;
+            }
+        }
+        
+        // 커서: 이전 페이지 마지막 병원의 (거리, ordinal) 다음부터 (검색 결과와 같은 순서)
+        KdTree spatial = index.getSpatial();
+        double lat = latitude;
+        double lon = longitude;
+        BitSet allowedOrdinals = allowed;
+        IntPredicate filter = allowedOrdinals != null ? allowedOrdinals::get : null;
+        if (cursor != null) {
+            NearbyCursor after = NearbyCursor.decode(cursor);
+            // 그 사이 병원 데이터가 바뀌어 마지막 병원이 없어졌으면 거리만으로 이어감
+            int afterOrdinal = index.ordinalOf(after.hospitalId);
+            filter = ordinal -> (allowedOrdinals == null || allowedOrdinals.get(ordinal))
+                    && after.isAfter(spatial.distanceKm(lat, lon, ordinal), ordinal, afterOrdinal);
+        }
+        
+        KdTree.Neighbors neighbors = spatial.nearest(lat, lon, limit + 1, radiusKm, filter);
+        int count = Math.min(limit, neighbors.size());
+        List<Hospital> hospitals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hospitals.add(index.get(neighbors.ordinal(i), neighbors.distanceKm(i)));
+        }
+        String nextCursor = null;
+        if (neighbors.size() > limit) {
+            Hospital last = hospitals.get(count - 1);
+            nextCursor = new NearbyCursor(neighbors.distanceKm(count - 1), last.getId()).encode();
+        }
+        return new NearbyHospitalPage(hospitals, nextCursor, lat, lon, regionId, radiusKm);
     }
     
     public Hospital getHospitalById(String id) throws IOException {
-        return getAllHospitals().stream()
-                .filter(h -> h.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        HospitalIndex index = getHospitalIndex();
+        int ordinal = index.ordinalOf(id);
+        return ordinal >= 0 ? index.get(ordinal) : null;
     }
     
     public List<Hospital> getHospitalsByDepartment(String department) throws IOException {
-        return getAllHospitals().stream()
-                .filter(h -> h.getDepartments().contains(department))
-                .collect(Collectors.toList());
+        HospitalIndex index = getHospitalIndex();
+        return index.hospitalsOf(index.department(department));
+    }
+    
+    /**
+     * 진료과/도시/진료 중 조건으로 병원 검색 (조건은 모두 AND, 없는 조건은 무시)
+     * @param departments 진료과 목록
+     * @param matchAllDepartments true면 모든 진료과가 있는 병원, false면 하나라도 있는 병원
+     * @param city 병원 도시 (정확히 일치)
+     * @param openNow true면 현재 진료 중인 병원만
+     */
+    public List<Hospital> searchHospitals(List<String> departments, boolean matchAllDepartments,
+                                          String city, boolean openNow) throws IOException {
+        HospitalIndex index = getHospitalIndex();
+        BitSet result = departments != null && !departments.isEmpty()
+                ? index.departments(departments, matchAllDepartments)
+                : index.all();
+        if (city != null) {
+            result.and(index.city(city));
+        }
+        if (openNow) {
+            result.and(index.openAt(OpeningHours.now()));
+        }
+        return index.hospitalsOf(result);
+    }
+    
+    /**
+     * 현재 진료 중인 병원만 남김 (스냅샷에 없는 병원은 제외)
+     */
+    public List<Hospital> filterOpenNow(List<Hospital> hospitals) throws IOException {
+        HospitalIndex index = getHospitalIndex();
+        LocalDateTime now = OpeningHours.now();
+        List<Hospital> result = new ArrayList<>();
+        for (Hospital hospital : hospitals) {
+            int ordinal = hospital.getId() != null ? index.ordinalOf(hospital.getId()) : -1;
+            if (ordinal >= 0 && index.isOpenAt(ordinal, now)) {
+                result.add(hospital);
+            }
+        }
+        return result;
     }
     
     public List<Hospital> getHospitalsByCity(String city) throws IOException {
-        return getAllHospitals().stream()
-                .filter(h -> h.getCity().equals(city))
-                .collect(Collectors.toList());
+        HospitalIndex index = getHospitalIndex();
+        return index.hospitalsOf(index.city(city));
     }
     
     /**
@@ -116,5 +341,43 @@ public class HospitalService {
         
         return hospitals;
     }
+    
+    /**
+     * 주변 병원 페이지 커서 (마지막 병원의 거리와 id, URL-safe Base64)
+     */
+    private static class NearbyCursor {
+        private final double distanceKm;
+        private final String hospitalId;
+        
+        private NearbyCursor(double distanceKm, String hospitalId) {
+            this.distanceKm = distanceKm;
+            this.hospitalId = hospitalId;
+        }
+        
+        private String encode() {
+            String raw = Long.toHexString(Double.doubleToLongBits(distanceKm)) + ":" + hospitalId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        private static NearbyCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int split = raw.indexOf(':');
+                double distanceKm = Double.longBitsToDouble(Long.parseUnsignedLong(raw.substring(0, split), 16));
+                return new NearbyCursor(distanceKm, raw.substring(split + 1));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("잘못된 cursor입니다.");
+            }
+        }
+        
+        /**
+         * (distanceKm, ordinal) 병원이 이 커서보다 뒤 순서인지 (거리, 같은 거리면 ordinal 순 - KdTree 결과 순서와 같음)
+         */
+        private boolean isAfter(double distanceKm, int ordinal, int cursorOrdinal) {
+            if (distanceKm != this.distanceKm) {
+                return distanceKm > this.distanceKm;
+            }
+            return cursorOrdinal >= 0 && ordinal > cursorOrdinal;
+        }
+    }
 }
-
@@ -1,7 +1,7 @@
 package com.petcare.service;
 
 import com.petcare.model.Pet;
-import com.petcare.util.FileDataManager;
+import com.petcare.repository.PetRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -12,46 +12,34 @@ import java.util.UUID;
 @Service
 public class PetService {
     
-    private static final String PETS_FILE = "pets.json";
+    @Autowired
+    private PetRepository petRepository;
     
     @Autowired
-    private FileDataManager fileDataManager;
+    private RegionService regionService;
     
     public Pet registerPet(Pet pet) throws IOException {
         pet.setId(UUID.randomUUID().toString());
-        List<Pet> pets = getAllPets();
-        pets.add(pet);
-        fileDataManager.saveListToFile(PETS_FILE, pets);
-        return pet;
+        return petRepository.save(pet);
     }
     
     public Pet getPetById(String id) throws IOException {
-        return getAllPets().stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return petRepository.findById(id);
     }
     
     public List<Pet> getAllPets() throws IOException {
-        return fileDataManager.loadListFromFile(PETS_FILE, Pet.class);
+        return petRepository.findAll();
     }
     
     public Pet updatePet(Pet pet) throws IOException {
-        List<Pet> pets = getAllPets();
-        for (int i = 0; i < pets.size(); i++) {
-            if (pets.get(i).getId().equals(pet.getId())) {
-                pets.set(i, pet);
-                fileDataManager.saveListToFile(PETS_FILE, pets);
-                return pet;
-            }
+        if (!petRepository.existsById(pet.getId())) {
+            throw new IllegalArgumentException("반려동물을 찾을 수 없습니다.");
         }
-        throw new IllegalArgumentException("반려동물을 찾을 수 없습니다.");
+        return petRepository.save(pet);
     }
     
     public void deletePet(String id) throws IOException {
-        List<Pet> pets = getAllPets();
-        pets.removeIf(p -> p.getId().equals(id));
-        fileDataManager.saveListToFile(PETS_FILE, pets);
+        petRepository.deleteById(id);
+        regionService.evictPet(id);
     }
 }
-
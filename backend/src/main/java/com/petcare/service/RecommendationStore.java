@@ -0,0 +1,40 @@
+package com.petcare.service;
+
+import com.petcare.model.HospitalRecommendation;
+import com.petcare.util.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 최근 증상 분석 결과 보관 (symptomId별, 메모리)
+ *
+ * 응급 안내처럼 먼저 응답한 결과는 뒤이어 끝난 AI 분석 결과로 같은 symptomId 아래에서 교체됩니다.
+ * 크기·유효 시간을 넘은 결과는 사라지므로 오래 보관할 기록 용도로는 쓰지 않습니다.
+ */
+@Component
+public class RecommendationStore {
+    
+    private final LruCache<String, HospitalRecommendation> results;
+    
+    public RecommendationStore(@Value("${app.results.cache.size:1000}") int size,
+                               @Value("${app.results.ttl-minutes:60}") long ttlMinutes) {
+        this.results = new LruCache<>(size, ttlMinutes * 60_000);
+    }
+    
+    public void put(HospitalRecommendation recommendation) {
+        results.put(recommendation.getAnalysisResult().getSymptomId(), recommendation);
+    }
+    
+    /**
+     * symptomId의 최신 결과 (없거나 만료되면 null)
+     */
+    public HospitalRecommendation get(String symptomId) {
+        return results.get(symptomId);
+    }
+    
+    public Map<String, Object> getStats() {
+        return results.stats();
+    }
+}
@@ -0,0 +1,108 @@
+package com.petcare.service;
+
+import com.petcare.index.HospitalIndex;
+import com.petcare.index.Region;
+import com.petcare.index.RegionTrie;
+import com.petcare.model.Pet;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 주소 → 행정구역 해석 (resources/regions.tsv 사전)
+ * 반려동물별 해석 결과는 주소(locationCity)가 바뀌기 전까지 캐시합니다.
+ */
+@Service
+public class RegionService {
+    
+    private static final String DICTIONARY = "regions.tsv";
+    
+    // 주소를 해석하지 못했을 때 사용하는 지역
+    private static final String DEFAULT_REGION = "서울특별시";
+    
+    private RegionTrie regionTrie;
+    
+    private final Map<String, PetRegion> petRegions = new ConcurrentHashMap<>();
+    
+    // 병원 city 값 해석 결과 (종류가 적어 전부 캐시)
+    private final Map<String, Optional<Region>> hospitalCityRegions = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    public void loadDictionary() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(DICTIONARY)) {
+            if (in == null) {
+                throw new IOException("지역 사전을 찾을 수 없습니다: " + DICTIONARY);
+            }
+            regionTrie = RegionTrie.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        System.out.println("🗺️ 지역 사전 로드: " + regionTrie.size() + "개 지역");
+    }
+    
+    /**
+     * 주소 문자열 해석 (찾지 못하면 null)
+     */
+    public Region resolve(String address) {
+        return regionTrie.resolve(address);
+    }
+    
+    /**
+     * 반려동물 주소(locationCity) 해석 (캐시 사용, 찾지 못하면 null)
+     */
+    public Region resolveForPet(Pet pet) {
+        if (pet.getId() == null) {
+            return resolve(pet.getLocationCity());
+        }
+        PetRegion cached = petRegions.get(pet.getId());
+        if (cached != null && Objects.equals(cached.locationCity, pet.getLocationCity())) {
+            return cached.region;
+        }
+        Region region = resolve(pet.getLocationCity());
+        petRegions.put(pet.getId(), new PetRegion(pet.getLocationCity(), region));
+        return region;
+    }
+    
+    /**
+     * 반려동물 캐시 제거 (삭제 시)
+     */
+    public void evictPet(String petId) {
+        petRegions.remove(petId);
+    }
+    
+    public Region getDefaultRegion() {
+        return regionTrie.get(DEFAULT_REGION);
+    }
+    
+    /**
+     * region 안에 있는 병원 ordinal (병원 city 값을 해석해서 비교)
+     */
+    public BitSet hospitalsWithin(HospitalIndex hospitalIndex, Region region) {
+        BitSet result = new BitSet();
+        for (String city : hospitalIndex.cities()) {
+            Optional<Region> hospitalRegion = hospitalCityRegions.computeIfAbsent(city,
+                    c -> Optional.ofNullable(resolve(c)));
+            if (hospitalRegion.isPresent() && hospitalRegion.get().isWithin(region)) {
+                result.or(hospitalIndex.city(city));
+            }
+        }
+        return result;
+    }
+    
+    private static class PetRegion {
+        private final String locationCity;
+        private final Region region;
+    
+        private PetRegion(String locationCity, Region region) {
+            this.locationCity = locationCity;
+            this.region = region;
+        }
+    }
+}
@@ -1,62 +1,62 @@
 package com.petcare.service;
 
 import com.petcare.model.Reservation;
-import com.petcare.util.FileDataManager;
+import com.petcare.repository.ReservationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class ReservationService {
     
-    private static final String RESERVATIONS_FILE = "reservations.json";
-    
     @Autowired
-    private FileDataManager fileDataManager;
+    private ReservationRepository reservationRepository;
     
     public Reservation createReservation(Reservation reservation) throws IOException {
         reservation.setId(UUID.randomUUID().toString());
         reservation.setStatus("pending");
-        List<Reservation> reservations = getAllReservations();
-        reservations.add(reservation);
-        fileDataManager.saveListToFile(RESERVATIONS_FILE, reservations);
-        return reservation;
+        return reservationRepository.save(reservation);
     }
     
     public Reservation getReservationById(String id) throws IOException {
-        return getAllReservations().stream()
-                .filter(r -> r.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return reservationRepository.findById(id);
     }
     
     public List<Reservation> getAllReservations() throws IOException {
-        return fileDataManager.loadListFromFile(RESERVATIONS_FILE, Reservation.class);
+        return reservationRepository.findAll();
     }
     
     public List<Reservation> getReservationsByPetId(String petId) throws IOException {
-        return getAllReservations().stream()
-                .filter(r -> r.getPetId().equals(petId))
-                .collect(Collectors.toList());
+        return reservationRepository.findByPetId(petId);
+    }
+    
+    public List<Reservation> getReservationsByHospitalId(String hospitalId, String status) throws IOException {
+        if (status == null) {
+            return reservationRepository.findByHospitalId(hospitalId);
+        }
+        return reservationRepository.search(null, hospitalId, status, null, null);
+    }
+    
+    /**
+     * 예약 조건 조회 (petId, hospitalId, status, 기간 중 주어진 조건만 적용)
+     */
+    public List<Reservation> searchReservations(String petId, String hospitalId, String status,
+                                                LocalDateTime from, LocalDateTime to) throws IOException {
+        return reservationRepository.search(petId, hospitalId, status, from, to);
     }
     
     public Reservation cancelReservation(String id) throws IOException {
-        List<Reservation> reservations = getAllReservations();
-        Reservation reservation = reservations.stream()
-                .filter(r -> r.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        Reservation reservation = reservationRepository.findById(id);
         
         if (reservation != null) {
             reservation.setStatus("cancelled");
-            fileDataManager.saveListToFile(RESERVATIONS_FILE, reservations);
+            reservationRepository.save(reservation);
         }
         
         return reservation;
     }
 }
-
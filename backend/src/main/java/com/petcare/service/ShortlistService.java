@@ -0,0 +1,236 @@
+package com.petcare.service;
+
+import com.petcare.index.HospitalIndex;
+import com.petcare.index.HospitalRanker;
+import com.petcare.index.Region;
+import com.petcare.util.LruCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AI2에 넘길 병원 후보(shortlist) 계산 + 캐시
+ *
+ * 후보는 (해석된 지역, 추천 진료과, 긴급도, 진료 중 조건)과 병원 스냅샷만으로 정해지므로 이 값을 키로 LRU 캐시에 보관합니다.
+ * 키에 스냅샷 버전이 들어 있어 병원 데이터가 바뀌면 이전 후보는 더 이상 적중하지 않고,
+ * 새 버전을 처음 보는 시점에 캐시를 비웁니다.
+ * 진료과와 무관한 위치 기반 후보는 prepare(...)로 AI1 응답 전에 미리 구해 둘 수 있습니다.
+ */
+@Service
+public class ShortlistService {
+    
+    // AI2에 넘기는 병원 수 (프롬프트에는 상위 15개만 사용됨)
+    private static final int SHORTLIST_SIZE = 15;
+    
+    // 추천 진료과가 있는 병원의 거리 가중치 (20% 감소)
+    private static final double DEPARTMENT_DISCOUNT = 0.8;
+    
+    @Autowired
+    private RegionService regionService;
+    
+    private final LruCache<ShortlistKey, HospitalRanker.Ranking> cache;
+    
+    private final AtomicLong cachedVersion = new AtomicLong(-1);
+    
+    public ShortlistService(@Value("${app.shortlist.cache.size:512}") int cacheSize) {
+        this.cache = new LruCache<>(cacheSize);
+    }
+    
+    /**
+     * 지역 중심 좌표에서 가까운 병원 후보 (진료과 일치 병원이 앞에 오도록, 같은 시/도 병원 우선)
+     * @param region        해석된 지역 (null이면 기본 지역, 시/도 제한 없음)
+     * @param department    추천 진료과 (null 가능)
+     * @param urgencyLevel  긴급도 (null 가능)
+     * @param openAt        이 시각에 진료 중인 병원 우선 (null이면 진료시간 무시)
+     */
+    public HospitalRanker.Ranking getShortlist(HospitalIndex hospitalIndex, Region region,
+                                               String department, String urgencyLevel, LocalDateTime openAt) {
+        checkVersion(hospitalIndex);
+        
+        // 진료 중 조건은 시각 대신 "진료 중인 진료시간 종류"를 키로 사용 (진료 시작/종료 시각이 지나야 바뀜)
+        BitSet openSchedules = openAt != null ? hospitalIndex.openScheduleCodesAt(openAt) : null;
+        ShortlistKey key = new ShortlistKey(hospitalIndex.getVersion(), region != null ? region.getId() : null,
+                department, urgencyLevel, openSchedules);
+        HospitalRanker.Ranking ranking = cache.get(key);
+        if (ranking != null) {
+            System.out.println("⚡ 병원 후보 캐시 사용 (" + ranking.size() + "개)");
+            return ranking;
+        }
+        ranking = rank(locate(hospitalIndex, region, openAt, openSchedules), department);
+        cache.put(key, ranking);
+        return ranking;
+    }
+    
+    /**
+     * 진료과·긴급도와 무관한 위치 기반 후보를 미리 계산 (AI1 응답을 기다리는 동안 실행)
+     * 시/도·진료 중 조건을 풀어 가는 순서는 getShortlist와 같고, 진료과 가중치는 나중에 getShortlist(prepared, ...)에서 적용합니다.
+     * @param openAt 이 시각에 진료 중인 병원 우선 (null이면 진료시간 무시)
+     */
+    public PreparedShortlist prepare(HospitalIndex hospitalIndex, Region region, LocalDateTime openAt) {
+        checkVersion(hospitalIndex);
+        BitSet openSchedules = openAt != null ? hospitalIndex.openScheduleCodesAt(openAt) : null;
+        return locate(hospitalIndex, region, openAt, openSchedules);
+    }
+    
+    /**
+     * 미리 계산한 위치 기반 후보에 추천 진료과 가중치를 적용한 병원 후보 (캐시 사용)
+     * 진료 중 조건이 필요한데(openAt) 진료시간 조건 없이 준비한 후보라면 처음부터 다시 계산합니다.
+     */
+    public HospitalRanker.Ranking getShortlist(PreparedShortlist prepared, String department, String urgencyLevel,
+                                               LocalDateTime openAt) {
+        if (openAt != null && prepared.openSchedules == null) {
+            return getShortlist(prepared.hospitalIndex, prepared.region, department, urgencyLevel, openAt);
+        }
+        checkVersion(prepared.hospitalIndex);
+        ShortlistKey key = new ShortlistKey(prepared.hospitalIndex.getVersion(),
+                prepared.region != null ? prepared.region.getId() : null, department, urgencyLevel,
+                prepared.openSchedules);
+        HospitalRanker.Ranking ranking = cache.get(key);
+        if (ranking != null) {
+            System.out.println("⚡ 병원 후보 캐시 사용 (" + ranking.size() + "개)");
+            return ranking;
+        }
+        ranking = rank(prepared, department);
+        cache.put(key, ranking);
+        return ranking;
+    }
+    
+    /**
+     * 캐시 상태 (적중률 등) + 현재 기준 스냅샷 버전
+     */
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = cache.stats();
+        stats.put("snapshotVersion", cachedVersion.get());
+        return stats;
+    }
+    
+    private void checkVersion(HospitalIndex hospitalIndex) {
+        long version = hospitalIndex.getVersion();
+        long previous = cachedVersion.get();
+        if (version > previous && cachedVersion.compareAndSet(previous, version)) {
+            cache.clear(); // 이전 스냅샷의 후보는 다시 쓰이지 않음
+        }
+    }
+    
+    private HospitalRanker.Ranking rank(PreparedShortlist prepared, String department) {
+        HospitalRanker.Ranking ranking = prepared.candidates.rank(department);
+        System.out.println("✅ 가까운 병원 " + ranking.size() + "개 선택 (전체 " + prepared.hospitalIndex.size() + "개 중)");
+        return ranking;
+    }
+    
+    private PreparedShortlist locate(HospitalIndex hospitalIndex, Region region, LocalDateTime openAt,
+                                     BitSet openSchedules) {
+        Region resolved = region;
+        BitSet inProvince = null;
+        if (resolved != null) {
+            // 같은 시/도 병원만 후보로 사용
+            inProvince = regionService.hospitalsWithin(hospitalIndex, resolved.ancestor(Region.PROVINCE));
+        } else {
+            resolved = regionService.getDefaultRegion();
+        }
+        BitSet open = openAt != null ? hospitalIndex.openAt(openAt) : null;
+        
+        // 사용자 좌표 (가장 구체적으로 찾은 지역의 중심 좌표)
+        double latitude = resolved.getLatitude();
+        double longitude = resolved.getLongitude();
+        
+        // 조건을 만족하는 병원이 없으면 조건을 하나씩 풀어서 다시 (시/도 + 진료 중 → 진료 중 → 시/도 → 전체)
+        List<BitSet> filters = new ArrayList<>();
+        if (inProvince != null && open != null) {
+            BitSet both = (BitSet) inProvince.clone();
+            both.and(open);
+            filters.add(both);
+        }
+        if (open != null) {
+            filters.add(open);
+        }
+        if (inProvince != null) {
+            filters.add(inProvince);
+        }
+        filters.add(null);
+        
+        HospitalRanker.Candidates candidates = null;
+        for (int i = 0; i < filters.size(); i++) {
+            BitSet filter = filters.get(i);
+            candidates = HospitalRanker.candidates(hospitalIndex, latitude, longitude,
+                    SHORTLIST_SIZE, DEPARTMENT_DISCOUNT, filter != null ? filter::get : null);
+            if (!candidates.isEmpty()) {
+                break;
+            }
+            if (i + 1 < filters.size()) {
+                System.out.println(open != null
+                        ? "⚠️ 조건(같은 시/도, 진료 중)에 맞는 병원이 없어 조건을 줄여 다시 찾습니다."
+                        : "⚠️ 해당 도시의 병원이 없어 전체 병원 목록을 사용합니다.");
+            }
+        }
+        return new PreparedShortlist(hospitalIndex, region, openSchedules, candidates);
+    }
+    
+    /**
+     * 진료과 가중치를 적용하기 전의 위치 기반 후보 (스냅샷, 지역, 진료 중 조건별)
+     */
+    public static final class PreparedShortlist {
+        private final HospitalIndex hospitalIndex;
+        private final Region region;
+        private final BitSet openSchedules;
+        private final HospitalRanker.Candidates candidates;
+    
+        private PreparedShortlist(HospitalIndex hospitalIndex, Region region, BitSet openSchedules,
+                                  HospitalRanker.Candidates candidates) {
+            this.hospitalIndex = hospitalIndex;
+            this.region = region;
+            this.openSchedules = openSchedules;
+            this.candidates = candidates;
+        }
+    
+        public int size() {
+            return candidates.size();
+        }
+    }
+    
+    private static final class ShortlistKey {
+        private final long version;
+        private final String regionId;
+        private final String department;
+        private final String urgencyLevel;
+        private final BitSet openSchedules;
+    
+        private ShortlistKey(long version, String regionId, String department, String urgencyLevel,
+                             BitSet openSchedules) {
+            this.version = version;
+            this.regionId = regionId;
+            this.department = department;
+            this.urgencyLevel = urgencyLevel;
+            this.openSchedules = openSchedules;
+        }
+    
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ShortlistKey)) {
+                return false;
+            }
+            ShortlistKey other = (ShortlistKey) o;
+            return version == other.version
+                    && Objects.equals(regionId, other.regionId)
+                    && Objects.equals(department, other.department)
+                    && Objects.equals(urgencyLevel, other.urgencyLevel)
+                    && Objects.equals(openSchedules, other.openSchedules);
+        }
+    
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, regionId, department, urgencyLevel, openSchedules);
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package com.petcare.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petcare.index.HospitalIndex;
+import com.petcare.index.HospitalRanker;
+import com.petcare.index.OpeningHours;
+import com.petcare.index.Region;
 import com.petcare.model.AnalysisResult;
 import com.petcare.model.Hospital;
 import com.petcare.model.HospitalRecommendation;
 import com.petcare.model.Pet;
 import com.petcare.model.SymptomRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.Map;
 
 @Service
 public class SymptomAnalysisService {
@@ -24,14 +35,105 @@ public class SymptomAnalysisService {
     @Autowired
     private HospitalService hospitalService;
     
+    @Autowired
+    private RegionService regionService;
+    
+    @Autowired
+    private ShortlistService shortlistService;
+    
+    @Autowired
+    private EmergencyTriageService emergencyTriageService;
+    
+    @Autowired
+    private RecommendationStore recommendationStore;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     /**
-     * 증상 분석 요청 처리
-     * 1. AI1을 호출하여 증상 분석
-     * 2. AI2를 호출하여 병원 추천
+     * 증상 분석 요청 처리 (논블로킹, Gemini 응답을 기다리는 동안 요청 스레드를 반환)
+     * 1. AI1을 호출하여 증상 분석 (동시에 위치 기반 병원 후보를 미리 계산)
+     * 2. AI1 결과의 추천 진료과로 후보 순위를 정한 뒤 AI2를 호출하여 병원 추천
+     * 응급 상황 체크 항목이 있으면 규칙 기반 응급 안내를 바로 응답하고, AI 분석은 뒤에서 이어서 실행해
+     * 같은 symptomId의 결과(/api/symptoms/results/{symptomId})를 갱신합니다.
+     */
+    public Mono<HospitalRecommendation> analyzeAndRecommend(SymptomRequest symptomRequest) throws IOException {
+        AnalysisContext context = prepare(symptomRequest);
+        
+        if (EmergencyTriageService.isEmergency(symptomRequest)) {
+            return context.hospitals.map(prepared -> {
+                HospitalRecommendation quick = emergencyTriageService.recommend(symptomRequest, prepared);
+                recommendationStore.put(quick);
+                
+                // Gemini 응답이 실제로 왔을 때만 갱신 (실패하면 Mock 대신 응급 안내를 그대로 유지)
+                String symptomId = quick.getAnalysisResult().getSymptomId();
+                analyze(symptomRequest, context, false).subscribe(recommendation -> {
+                    recommendationStore.put(withSymptomId(recommendation, symptomId));
+                    System.out.println("✅ 응급 안내(" + symptomId + ")에 AI 분석 결과 반영");
+                }, e -> System.err.println("응급 안내 후 AI 분석 실패, 응급 안내 유지 (" + symptomId + "): " + e.getMessage()));
+                return quick;
+            });
+        }
+        return analyze(symptomRequest, context, true).doOnNext(recommendationStore::put);
+    }
+    
+    /**
+     * 최근 분석 결과 (응급 안내였다면 AI 분석이 끝난 뒤에는 그 결과, 없거나 만료되면 null)
+     */
+    public HospitalRecommendation getResult(String symptomId) {
+        return recommendationStore.get(symptomId);
+    }
+    
+    /**
+     * 증상 분석 요청을 단계별 SSE 이벤트로 처리
+     * triage (긴급도·카테고리·추천 진료과, AI1 생성 중 바로) → analysis (질환 후보 포함 전체 분석)
+     * → hospitals (거리·진료과 기준 병원 후보) → recommendation (AI2의 보호자 안내 메시지와 추천 병원)
      */
-    public HospitalRecommendation analyzeAndRecommend(SymptomRequest symptomRequest) throws IOException {
+    public Flux<ServerSentEvent<Object>> analyzeAndRecommendStream(SymptomRequest symptomRequest) throws IOException {
+        AnalysisContext context = prepare(symptomRequest);
+        
+        // AI1 스트리밍 (앞의 값은 긴급도만 채운 결과, 마지막 값이 최종 분석 결과)
+        Flux<AnalysisResult> analysis = aiService.analyzeSymptomsStream(symptomRequest, context.pet, context.petInfoJson)
+                .map(result -> atLeastEmergency(symptomRequest, result))
+                .cache();
+        Mono<AnalysisResult> analysisResult = analysis.last();
+        Mono<List<Hospital>> availableHospitals = Mono.zip(analysisResult, context.hospitals)
+                .map(pair -> selectHospitals(symptomRequest, pair.getT2(), pair.getT1()))
+                .cache();
+        
+        return Flux.concat(
+                analysis.next().map(result -> event("triage", triageOf(result))),
+                analysisResult.map(result -> event("analysis", result)),
+                availableHospitals.map(hospitals -> event("hospitals", hospitals)),
+                Mono.zip(analysisResult, availableHospitals)
+                        .flatMap(pair -> aiService.recommendHospitals(pair.getT1(), context.userLocation, pair.getT2()))
+                        .doOnNext(recommendationStore::put)
+                        .map(recommendation -> event("recommendation", recommendation)));
+    }
+    
+    private Mono<HospitalRecommendation> analyze(SymptomRequest symptomRequest, AnalysisContext context, boolean fallback) {
+        // 3. AI1 호출: 증상 분석 (같은 요청이면 캐시 사용) + 위치 기반 후보 계산을 함께 진행
+        return Mono.zip(aiService.analyzeSymptoms(symptomRequest, context.pet, context.petInfoJson, fallback), context.hospitals)
+                .flatMap(pair -> {
+                    AnalysisResult analysisResult = atLeastEmergency(symptomRequest, pair.getT1());
+                    
+                    // 4. 병원 후보 선택 (진료과 가중치만 적용)
+                    List<Hospital> availableHospitals = selectHospitals(symptomRequest, pair.getT2(), analysisResult);
+                    
+                    // 5. AI2 호출: 병원 추천
+                    return aiService.recommendHospitals(
+                            analysisResult, 
+                            context.userLocation, 
+                            availableHospitals,
+                            fallback
+                    );
+                });
+    }
+    
+    /**
+     * 반려동물 정보 준비 (AI 호출 전, 반려동물이 없으면 IllegalArgumentException)
+     * 위치 기반 병원 후보 계산은 여기서 시작해 AI1 호출과 동시에 진행합니다.
+     */
+    private AnalysisContext prepare(SymptomRequest symptomRequest) throws IOException {
         // 1. 반려동물 정보 조회
         Pet pet = petService.getPetById(symptomRequest.getPetId());
         if (pet == null) {
@@ -41,255 +143,99 @@ public class SymptomAnalysisService {
         // 2. 반려동물 정보를 JSON으로 변환
         String petInfoJson = objectMapper.writeValueAsString(pet);
         
-        // 3. AI1 호출: 증상 분석
-        AnalysisResult analysisResult = aiService.analyzeSymptoms(symptomRequest, petInfoJson);
-        
-        // 4. 사용자 위치 기반 병원 조회 (hospitals.json에서 도시별 필터링)
+        // 사용자 위치 (주소의 행정구역 좌표에서 k-d 트리로 가까운 병원만 검색)
         String userLocation = pet.getLocationCity();
-        List<Hospital> availableHospitals;
         
         System.out.println("📍 사용자 입력 주소: " + userLocation);
         
-        // 기본 병원 목록 가져오기
-        availableHospitals = hospitalService.getAllHospitals();
-        
-        // 도시명 추출 (검색용)
-        String cityName = extractCityNameForSearch(userLocation);
-        System.out.println("🔍 추출된 도시명: " + cityName);
-        
-        // 주소에서 구 단위 추출 (예: "대전광역시 유성구 궁동" → "유성구")
-        String districtName = extractDistrictName(userLocation);
-        System.out.println("🔍 추출된 구명: " + (districtName != null ? districtName : "없음"));
-        
-        // 도시별 필터링 (도시명이 포함된 병원만 선택)
-        List<Hospital> cityHospitals = availableHospitals.stream()
-            .filter(h -> {
-                if (h.getCity() == null) return false;
-                String hospitalCity = h.getCity().toLowerCase();
-                String searchCity = cityName.toLowerCase();
-                String userLocationLower = userLocation.toLowerCase();
-                
-                // 1. 구 단위가 있으면 구 단위로 먼저 필터링
-                if (districtName != null && !districtName.isEmpty()) {
-                    String districtLower = districtName.toLowerCase();
-                    if (hospitalCity.contains(districtLower)) {
-                        return true;
-                    }
-                }
-                
-                // 2. 주소에 구가 포함되어 있으면 구로 매칭 (예: "유성구" → "대전광역시 유성구")
-                if (userLocationLower.contains("구")) {
-                    // 주소에서 구 추출 (예: "유성구", "중구" 등)
-                    String[] parts = userLocationLower.split("구");
-                    if (parts.length > 0) {
-                        String extractedDistrict = parts[0].trim();
-                        if (!extractedDistrict.isEmpty()) {
-                            String districtWithGu = extractedDistrict + "구";
-                            if (hospitalCity.contains(districtWithGu)) {
-                                return true;
-                            }
-                        }
-                    }
-                }
-                
-                // 3. 도시명 매칭 (예: "대전" → "대전광역시", "대전 유성구" 등)
-                if (hospitalCity.contains(searchCity)) {
-                    return true;
-                }
-                
-                // 4. 역방향 매칭 (예: "대전" 검색 시 "대전광역시 유성구" 매칭)
-                if (searchCity.contains(hospitalCity.split(" ")[0])) {
-                    return true;
-                }
-                
-                return false;
-            })
-            .collect(java.util.stream.Collectors.toList());
-        
-        System.out.println("✅ 도시별 필터링 결과: " + cityHospitals.size() + "개 (전체 " + availableHospitals.size() + "개 중)");
-        
-        // 도시별 병원이 있으면 사용, 없으면 전체 병원 사용
-        if (!cityHospitals.isEmpty()) {
-            availableHospitals = cityHospitals;
-        } else {
-            System.out.println("⚠️ 해당 도시의 병원이 없어 전체 병원 목록을 사용합니다.");
-        }
-        
-        // 사용자 좌표 계산 (거리 계산용)
-        Double userLatitude = null;
-        Double userLongitude = null;
-        
-        // 주요 도시의 대략적인 중심 좌표
-        if (userLocation.contains("서울")) {
-            userLatitude = 37.5665;
-            userLongitude = 126.9780;
-        } else if (userLocation.contains("대전")) {
-            userLatitude = 36.3504;
-            userLongitude = 127.3845;
-        } else if (userLocation.contains("부산")) {
-            userLatitude = 35.1796;
-            userLongitude = 129.0756;
-        } else if (userLocation.contains("인천")) {
-            userLatitude = 37.4563;
-            userLongitude = 126.7052;
-        } else if (userLocation.contains("광주")) {
-            userLatitude = 35.1595;
-            userLongitude = 126.8526;
-        } else if (userLocation.contains("대구")) {
-            userLatitude = 35.8714;
-            userLongitude = 128.6014;
-        } else if (userLocation.contains("울산")) {
-            userLatitude = 35.5384;
-            userLongitude = 129.3114;
-        } else if (userLocation.contains("세종")) {
-            userLatitude = 36.4800;
-            userLongitude = 127.2890;
-        } else {
-            // 기본값 (서울)
-            userLatitude = 37.5665;
-            userLongitude = 126.9780;
-        }
-        
-        // 실제 좌표 기반 거리 계산
-        String recommendedDept = analysisResult.getRecommendedDepartment();
-        
-        // 각 병원까지의 실제 거리 계산
-        for (Hospital hospital : availableHospitals) {
-            if (hospital.getLatitude() != null && hospital.getLongitude() != null) {
-                // Haversine 공식으로 실제 거리 계산
-                double distance = HospitalService.calculateDistance(
-                    userLatitude, 
-                    userLongitude, 
-                    hospital.getLatitude(), 
-                    hospital.getLongitude()
-                );
-                
-                // 진료과가 일치하면 거리를 약간 줄여서 우선순위 높임
-                if (recommendedDept != null && hospital.getDepartments().contains(recommendedDept)) {
-                    distance = distance * 0.8; // 20% 감소
-                }
-                
-                hospital.setDistanceKm(distance);
+        // 위치 기반 병원 후보 계산을 바로 시작 (AI1 호출과 동시에 진행)
+        CompletableFuture<ShortlistService.PreparedShortlist> hospitals = Mono.fromCallable(() -> {
+            HospitalIndex hospitalIndex = hospitalService.getHospitalIndex();
+            
+            // 주소 → 행정구역 (시/도 → 시/군/구 → 동, 반려동물별 캐시)
+            Region userRegion = regionService.resolveForPet(pet);
+            if (userRegion != null) {
+                System.out.println("🔍 해석된 지역: " + userRegion.getId());
             } else {
-                // 좌표가 없으면 큰 값으로 설정 (우선순위 낮음)
-                hospital.setDistanceKm(Double.MAX_VALUE);
+                System.out.println("⚠️ 주소에서 지역을 찾지 못해 기본 위치(" + regionService.getDefaultRegion().getId() + ")를 사용합니다.");
             }
-        }
-        
-        // 거리순으로 정렬 (진료과 일치 병원이 앞에 오도록)
-        availableHospitals.sort((h1, h2) -> {
-            Double d1 = h1.getDistanceKm() != null ? h1.getDistanceKm() : Double.MAX_VALUE;
-            Double d2 = h2.getDistanceKm() != null ? h2.getDistanceKm() : Double.MAX_VALUE;
-            return d1.compareTo(d2);
-        });
-        
-        // 5. AI2 호출: 병원 추천
-        HospitalRecommendation recommendation = aiService.recommendHospitals(
-                analysisResult, 
-                userLocation, 
-                availableHospitals
-        );
+            
+            // 진료 중 조건은 요청에서 명시한 경우만 미리 적용 (응급 여부는 AI1 결과가 나와야 알 수 있음)
+            return shortlistService.prepare(hospitalIndex, userRegion,
+                    Boolean.TRUE.equals(symptomRequest.getOpenNow()) ? OpeningHours.now() : null);
+        }).subscribeOn(Schedulers.boundedElastic()).toFuture(); // 병원 데이터를 처음 읽을 때는 파일 I/O가 있음
         
-        return recommendation;
+        return new AnalysisContext(pet, petInfoJson, userLocation, Mono.fromFuture(hospitals));
+    }
+    
+    private List<Hospital> selectHospitals(SymptomRequest symptomRequest, ShortlistService.PreparedShortlist prepared,
+                                           AnalysisResult analysisResult) {
+        // 응급이면 (또는 요청에서 원하면) 지금 진료 중인 병원을 우선
+        boolean openNow = symptomRequest.getOpenNow() != null
+                ? symptomRequest.getOpenNow()
+                : "emergency".equals(analysisResult.getUrgencyLevel());
+        
+        // 미리 구한 위치 기반 후보에 진료과 가중치 적용 + 상위 병원 선택 (지역·진료과·긴급도별 캐시, 공유 병원 객체는 수정하지 않음)
+        HospitalRanker.Ranking ranking = shortlistService.getShortlist(prepared,
+                analysisResult.getRecommendedDepartment(), analysisResult.getUrgencyLevel(),
+                openNow ? OpeningHours.now() : null);
+        
+        // 응답용 복사본 (distanceKm = 실제 거리, 목록 순서 = 추천 순위)
+        return ranking.toHospitals();
     }
     
     /**
-     * 주소에서 검색에 사용할 도시명 추출
-     * @param locationCity 사용자가 입력한 주소 (예: "서울특별시 강남구", "세종특별자치시")
-     * @return 검색에 사용할 도시명 (예: "서울", "세종")
+     * 응급 상황 체크 항목이 있는 요청은 AI 결과와 관계없이 긴급도를 emergency로 유지
      */
-    private String extractCityNameForSearch(String locationCity) {
-        if (locationCity == null || locationCity.trim().isEmpty()) {
-            return "서울"; // 기본값
-        }
-        
-        String city = locationCity.trim();
-        
-        // 주요 도시명 매핑
-        if (city.contains("서울")) {
-            return "서울";
-        } else if (city.contains("부산")) {
-            return "부산";
-        } else if (city.contains("대구")) {
-            return "대구";
-        } else if (city.contains("인천")) {
-            return "인천";
-        } else if (city.contains("광주")) {
-            return "광주";
-        } else if (city.contains("대전")) {
-            return "대전";
-        } else if (city.contains("울산")) {
-            return "울산";
-        } else if (city.contains("세종")) {
-            return "세종";
-        } else if (city.contains("경기")) {
-            return "경기";
-        } else if (city.contains("강원")) {
-            return "강원";
-        } else if (city.contains("충북") || city.contains("충청북도")) {
-            return "충북";
-        } else if (city.contains("충남") || city.contains("충청남도")) {
-            return "충남";
-        } else if (city.contains("전북") || city.contains("전라북도")) {
-            return "전북";
-        } else if (city.contains("전남") || city.contains("전라남도")) {
-            return "전남";
-        } else if (city.contains("경북") || city.contains("경상북도")) {
-            return "경북";
-        } else if (city.contains("경남") || city.contains("경상남도")) {
-            return "경남";
-        } else if (city.contains("제주")) {
-            return "제주";
-        }
-        
-        // 매핑되지 않은 경우, "특별자치시", "광역시", "특별시", "시", "도" 등 제거
-        String simplified = city.replace("특별자치시", "")
-                               .replace("광역시", "")
-                               .replace("특별시", "")
-                               .replace("시", "")
-                               .replace("도", "")
-                               .trim();
-        
-        // 공백으로 분리하여 첫 번째 단어만 사용 (예: "서울특별시 강남구" → "서울")
-        String[] parts = simplified.split("\\s+");
-        if (parts.length > 0 && !parts[0].isEmpty()) {
-            return parts[0];
+    private static AnalysisResult atLeastEmergency(SymptomRequest symptomRequest, AnalysisResult analysis) {
+        if (!EmergencyTriageService.isEmergency(symptomRequest) || "emergency".equals(analysis.getUrgencyLevel())) {
+            return analysis;
         }
-        
-        return simplified.isEmpty() ? "서울" : simplified;
+        return new AnalysisResult(analysis.getPetId(), analysis.getSymptomId(), analysis.getDiseaseCandidates(),
+                "emergency", analysis.getCategory(), analysis.getRecommendedDepartment(),
+                analysis.getDetailedAnalysis());
     }
     
     /**
-     * 주소에서 구 단위 추출 (예: "대전광역시 유성구 궁동" → "유성구")
+     * AI 분석 결과를 먼저 응답한 응급 안내의 symptomId로 (캐시된 분석 결과 객체는 바꾸지 않음)
      */
-    private String extractDistrictName(String locationCity) {
-        if (locationCity == null || locationCity.isEmpty()) {
-            return null;
-        }
-        
-        // "구"가 포함되어 있는지 확인
-        if (locationCity.contains("구")) {
-            // 공백으로 분리
-            String[] parts = locationCity.split("\\s+");
-            for (String part : parts) {
-                if (part.contains("구") && !part.equals("구")) {
-                    // "구" 앞의 단어와 함께 반환 (예: "유성구")
-                    return part;
-                }
-            }
-            
-            // 공백으로 분리되지 않은 경우 직접 추출
-            int guIndex = locationCity.indexOf("구");
-            if (guIndex > 0) {
-                // "구" 앞의 몇 글자 추출 (최대 5글자)
-                int startIndex = Math.max(0, guIndex - 5);
-                String district = locationCity.substring(startIndex, guIndex + 1);
-                // 앞뒤 공백 제거
-                return district.trim();
-            }
+    private static HospitalRecommendation withSymptomId(HospitalRecommendation recommendation, String symptomId) {
+        AnalysisResult analysis = recommendation.getAnalysisResult();
+        AnalysisResult renamed = new AnalysisResult(analysis.getPetId(), symptomId, analysis.getDiseaseCandidates(),
+                analysis.getUrgencyLevel(), analysis.getCategory(), analysis.getRecommendedDepartment(),
+                analysis.getDetailedAnalysis());
+        return new HospitalRecommendation(renamed, recommendation.getUserFriendlyMessage(),
+                recommendation.getImmediateActions(), recommendation.getWatchFor(),
+                recommendation.getRecommendedHospitals(), false);
+    }
+    
+    private static Map<String, Object> triageOf(AnalysisResult result) {
+        Map<String, Object> triage = new LinkedHashMap<>();
+        triage.put("urgencyLevel", result.getUrgencyLevel());
+        triage.put("category", result.getCategory());
+        triage.put("recommendedDepartment", result.getRecommendedDepartment());
+        return triage;
+    }
+    
+    private static ServerSentEvent<Object> event(String name, Object data) {
+        return ServerSentEvent.<Object>builder().event(name).data(data).build();
+    }
+    
+    /**
+     * 한 요청의 AI 호출 전 준비 값
+     */
+    private static final class AnalysisContext {
+        private final Pet pet;
+        private final String petInfoJson;
+        private final String userLocation;
+        private final Mono<ShortlistService.PreparedShortlist> hospitals; // 위치 기반 병원 후보 (이미 계산 중)
+        
+        private AnalysisContext(Pet pet, String petInfoJson, String userLocation,
+                                Mono<ShortlistService.PreparedShortlist> hospitals) {
+            this.pet = pet;
+            this.petInfoJson = petInfoJson;
+            this.userLocation = userLocation;
+            this.hospitals = hospitals;
         }
-        
-        return null;
     }
 }
-
@@ -0,0 +1,125 @@
+package com.petcare.tool;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 증상 분석 API 부하 테스트 (동시 요청 수별 처리량·지연 시간·서버 스레드 수)
+ *
+ * 실행 예 (서버를 먼저 실행):
+ *   mvn -q compile exec:java -Dexec.mainClass=com.petcare.tool.AnalysisLoadTest \
+ *       -Dexec.args="--url=http://localhost:8080 --concurrency=50,200,500 --requests=1000"
+ *
+ * 옵션: --url, --pet (없으면 첫 번째 반려동물), --concurrency, --requests (단계별 요청 수), --complaint, --timeout-seconds
+ * 요청에 bypassCache=true를 넣어 매번 Gemini를 호출합니다. 스레드 모드 비교는 서버를
+ * VIRTUAL_THREADS=true / false로 각각 실행해 같은 옵션으로 측정하세요 (가상 스레드는 Java 21 이상).
+ * 서버 스레드 수는 /api/admin/threads의 JVM 플랫폼 스레드 최대값입니다 (가상 스레드는 포함되지 않음).
+ */
+public class AnalysisLoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = DataMigrationTool.parseOptions(args);
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        int[] levels = Arrays.stream(options.getOrDefault("concurrency", "50,200,500").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim()))
+                .toArray();
+        int requests = Integer.parseInt(options.getOrDefault("requests", "1000"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout-seconds", "180")));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String petId = options.containsKey("pet") ? options.get("pet") : firstPetId(client, url);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("petId", petId);
+        body.put("mainComplaint", options.getOrDefault("complaint", "어제부터 구토를 여러 번 했어요"));
+        body.put("bypassCache", true);
+        String json = MAPPER.writeValueAsString(body);
+
+        JsonNode mode = get(client, url + "/api/admin/threads");
+        System.out.println(String.format("서버 스레드 모드: %s (Java %s), 반려동물: %s",
+                mode.path("mode").asText(), mode.path("javaVersion").asText(), petId));
+        System.out.println(String.format("%-12s %8s %8s %10s %10s %10s %10s %14s",
+                "concurrency", "ok", "failed", "req/s", "p50(ms)", "p95(ms)", "max(ms)", "peakThreads"));
+        for (int concurrency : levels) {
+            post(client, url + "/api/admin/threads/peak/reset");
+            run(client, url, json, concurrency, requests, timeout);
+        }
+    }
+
+    private static void run(HttpClient client, String url, String json, int concurrency, int requests,
+                            Duration timeout) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/symptoms/analyze"))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicInteger failed = new AtomicInteger();
+        long[] latencies = new long[requests];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[requests];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int slot = i;
+            long sent = System.nanoTime();
+            futures[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[slot] = System.nanoTime() - sent;
+                        if (error != null || response.statusCode() != 200) {
+                            failed.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+        }
+        CompletableFuture.allOf(futures).exceptionally(e -> null).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        JsonNode threads = get(client, url + "/api/admin/threads");
+        System.out.println(String.format("%-12d %8d %8d %10.1f %10.0f %10.0f %10.0f %14d",
+                concurrency, requests - failed.get(), failed.get(), requests / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.95), latencies[requests - 1] / 1e6,
+                threads.path("peakThreads").asInt()));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+
+    private static String firstPetId(HttpClient client, String url) throws IOException, InterruptedException {
+        JsonNode pets = get(client, url + "/api/pets");
+        if (!pets.isArray() || pets.isEmpty()) {
+            throw new IllegalStateException("등록된 반려동물이 없습니다. --pet=<id>를 지정하세요.");
+        }
+        return pets.get(0).path("id").asText();
+    }
+
+    private static JsonNode get(HttpClient client, String url) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        return MAPPER.readTree(response.body());
+    }
+
+    private static void post(HttpClient client, String url) throws IOException, InterruptedException {
+        client.send(HttpRequest.newBuilder(URI.create(url)).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+}
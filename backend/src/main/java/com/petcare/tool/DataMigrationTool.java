@@ -0,0 +1,99 @@
+package com.petcare.tool;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.petcare.util.StorageCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 데이터 디렉토리 저장 형식 변환 도구 (1회성)
+ *
+ * 실행 예:
+ *   mvn -q compile exec:java -Dexec.mainClass=com.petcare.tool.DataMigrationTool \
+ *       -Dexec.args="--dir=./data --from=json --to=smile --to-compression=gzip"
+ *
+ * 옵션: --dir, --from, --from-compression, --to, --to-compression, --delete-source
+ * 변환 후 application.properties의 app.data.format / app.data.compression을 같은 값으로 바꿔야 합니다.
+ * 샤드 디렉토리(pets/, reservations/ 등)의 파일도 각 디렉토리 안에서 함께 변환합니다.
+ * 저널(*.journal)은 형식과 무관하게 JSON으로 기록되므로 그대로 둡니다.
+ */
+public class DataMigrationTool {
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        Path directory = Paths.get(options.getOrDefault("dir", "./data"));
+        StorageCodec source = StorageCodec.of(options.getOrDefault("from", "json"),
+                options.getOrDefault("from-compression", "none"));
+        StorageCodec target = StorageCodec.of(options.getOrDefault("to", "smile"),
+                options.getOrDefault("to-compression", "none"));
+        boolean deleteSource = options.containsKey("delete-source");
+
+        if (source.toString().equals(target.toString())) {
+            System.err.println("원본과 대상 형식이 같습니다: " + source);
+            System.exit(1);
+        }
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            files = stream
+                    .filter(Files::isRegularFile)
+                    .filter(p -> {
+                        String logicalName = source.logicalName(p.getFileName().toString());
+                        return logicalName != null && !logicalName.startsWith("."); // 쓰기 중인 임시 파일 제외
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        if (files.isEmpty()) {
+            System.out.println("변환할 " + source + " 파일이 없습니다: " + directory.toAbsolutePath());
+            return;
+        }
+
+        System.out.println("📦 " + source + " → " + target + " 변환 시작 (" + directory.toAbsolutePath() + ")");
+        for (Path file : files) {
+            String logicalName = source.logicalName(file.getFileName().toString());
+            Path output = file.resolveSibling(target.fileName(logicalName));
+            Path temp = output.resolveSibling("." + output.getFileName() + ".tmp");
+
+            long start = System.nanoTime();
+            JsonNode tree = source.read(file, source.getMapper().constructType(JsonNode.class));
+            target.write(temp, tree);
+            Files.move(temp, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.println(String.format("  %s (%,d bytes) → %s (%,d bytes), %dms",
+                    directory.relativize(file), Files.size(file), directory.relativize(output), Files.size(output),
+                    elapsedMs));
+            if (deleteSource) {
+                Files.delete(file);
+            }
+        }
+        System.out.println("✅ 변환 완료. app.data.format=" + target.getFormat()
+                + ", app.data.compression=" + (target.isCompressed() ? "gzip" : "none") + " 로 설정하세요.");
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,148 @@
+package com.petcare.tool;
+
+import com.petcare.index.GeoPoints;
+import com.petcare.model.Hospital;
+import com.petcare.service.HospitalService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 거리 계산 방식별 처리 시간 비교 (기준 좌표 1개 → 병원 N개)
+ *
+ * 실행 예:
+ *   mvn -q compile exec:java -Dexec.mainClass=com.petcare.tool.DistanceBenchmark \
+ *       -Dexec.args="--sizes=1000,100000,1000000 --iterations=20"
+ *
+ * - scalar:        Hospital 객체(Double 필드)마다 HospitalService.calculateDistance
+ * - soa-haversine: 위경도 기본형 배열 + 미리 계산한 라디안/cos(위도)로 Haversine
+ * - soa-batch:     GeoPoints.distancesKm (단위 벡터 배열, 현 길이 루프 + asin)
+ * - soa-compare:   GeoPoints.chordSquared (거리 비교용 값만, k-d 트리 잎 구간에서 쓰는 경로)
+ * 워밍업 후 최소 시간을 보고하고, scalar 대비 최대 오차(km)를 함께 출력합니다.
+ */
+public class DistanceBenchmark {
+
+    private static final double EARTH_RADIUS_KM = 6371;
+
+    public static void main(String[] args) {
+        Map<String, String> options = DataMigrationTool.parseOptions(args);
+        int[] sizes = Arrays.stream(options.getOrDefault("sizes", "1000,100000,1000000").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim()))
+                .toArray();
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "20"));
+        double lat = 36.3504;
+        double lon = 127.3845;
+
+        System.out.println(String.format("%-10s %-14s %12s %12s %14s", "points", "method", "best(ms)", "ns/point", "max err(km)"));
+        for (int size : sizes) {
+            List<Hospital> hospitals = generateHospitals(size);
+            double[] latitudes = new double[size];
+            double[] longitudes = new double[size];
+            for (int i = 0; i < size; i++) {
+                latitudes[i] = hospitals.get(i).getLatitude();
+                longitudes[i] = hospitals.get(i).getLongitude();
+            }
+            double[] latRad = new double[size];
+            double[] lonRad = new double[size];
+            double[] cosLat = new double[size];
+            for (int i = 0; i < size; i++) {
+                latRad[i] = Math.toRadians(latitudes[i]);
+                lonRad[i] = Math.toRadians(longitudes[i]);
+                cosLat[i] = Math.cos(latRad[i]);
+            }
+            GeoPoints points = new GeoPoints(latitudes, longitudes);
+            double[] q = GeoPoints.unitVector(lat, lon);
+
+            double[] expected = new double[size];
+            double[] out = new double[size];
+            long scalar = Long.MAX_VALUE;
+            long haversine = Long.MAX_VALUE;
+            long batch = Long.MAX_VALUE;
+            long compare = Long.MAX_VALUE;
+            double haversineError = 0;
+            double batchError = 0;
+            for (int i = 0; i <= iterations; i++) {
+                long start = System.nanoTime();
+                for (int j = 0; j < size; j++) {
+                    Hospital hospital = hospitals.get(j);
+                    expected[j] = HospitalService.calculateDistance(lat, lon, hospital.getLatitude(), hospital.getLongitude());
+                }
+                long end = System.nanoTime();
+                if (i > 0) { // 첫 회는 워밍업
+                    scalar = Math.min(scalar, end - start);
+                }
+
+                start = System.nanoTime();
+                haversine(lat, lon, latRad, lonRad, cosLat, out);
+                end = System.nanoTime();
+                if (i > 0) {
+                    haversine = Math.min(haversine, end - start);
+                }
+                haversineError = Math.max(haversineError, maxError(expected, out));
+
+                start = System.nanoTime();
+                points.distancesKm(lat, lon, out);
+                end = System.nanoTime();
+                if (i > 0) {
+                    batch = Math.min(batch, end - start);
+                }
+                batchError = Math.max(batchError, maxError(expected, out));
+
+                start = System.nanoTime();
+                points.chordSquared(q, 0, size, out);
+                end = System.nanoTime();
+                if (i > 0) {
+                    compare = Math.min(compare, end - start);
+                }
+            }
+            print(size, "scalar", scalar, 0);
+            print(size, "soa-haversine", haversine, haversineError);
+            print(size, "soa-batch", batch, batchError);
+            print(size, "soa-compare", compare, Double.NaN);
+        }
+    }
+
+    /**
+     * 기본형 배열 Haversine (기준점의 라디안/cos는 한 번만 계산)
+     */
+    static void haversine(double lat, double lon, double[] latRad, double[] lonRad, double[] cosLat, double[] out) {
+        double qLat = Math.toRadians(lat);
+        double qLon = Math.toRadians(lon);
+        double qCos = Math.cos(qLat);
+        for (int i = 0; i < out.length; i++) {
+            double sinLat = Math.sin((latRad[i] - qLat) / 2);
+            double sinLon = Math.sin((lonRad[i] - qLon) / 2);
+            double a = sinLat * sinLat + qCos * cosLat[i] * sinLon * sinLon;
+            out[i] = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+        }
+    }
+
+    private static double maxError(double[] expected, double[] actual) {
+        double max = 0;
+        for (int i = 0; i < expected.length; i++) {
+            max = Math.max(max, Math.abs(expected[i] - actual[i]));
+        }
+        return max;
+    }
+
+    private static void print(int size, String method, long nanos, double error) {
+        System.out.println(String.format("%-10d %-14s %12.3f %12.2f %14.2e",
+                size, method, nanos / 1e6, (double) nanos / size, error));
+    }
+
+    static List<Hospital> generateHospitals(int count) {
+        Random random = new Random(42);
+        List<Hospital> hospitals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Hospital hospital = new Hospital();
+            hospital.setId(String.format("hosp_%07d", i + 1));
+            hospital.setLatitude(33.0 + random.nextDouble() * 5.5);
+            hospital.setLongitude(125.0 + random.nextDouble() * 4.5);
+            hospitals.add(hospital);
+        }
+        return hospitals;
+    }
+}
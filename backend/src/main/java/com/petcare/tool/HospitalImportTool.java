@@ -0,0 +1,87 @@
+package com.petcare.tool;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.petcare.index.HospitalImporter;
+import com.petcare.index.HospitalStore;
+import com.petcare.util.StorageCodec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * 병원 데이터 대량 가져오기 (CSV/JSON → data 디렉토리의 hospitals 파일)
+ *
+ * 실행 예:
+ *   mvn -q compile exec:java -Dexec.mainClass=com.petcare.tool.HospitalImportTool \
+ *       -Dexec.args="--input=hospitals.csv --dir=./data --format=json --compression=none"
+ *
+ * 옵션: --input (.csv, .json, .smile, .cbor, 뒤에 .gz 가능), --dir, --format, --compression, --dry-run
+ * 입력은 한 건씩 읽어 HospitalStore(열 저장소)에 바로 쌓고, 출력도 한 건씩 직렬화하므로
+ * 병원 객체 목록을 통째로 메모리에 두지 않습니다. --format/--compression은 app.data.* 설정과 같게 지정하세요.
+ * 서버가 실행 중이면 파일 감시로 새 병원 데이터를 바로 반영합니다. 기존 hospitals 파일은 덮어씁니다.
+ */
+public class HospitalImportTool {
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = DataMigrationTool.parseOptions(args);
+        String inputOption = options.get("input");
+        if (inputOption == null) {
+            System.err.println("--input=<파일>을 지정하세요.");
+            System.exit(1);
+        }
+        Path input = Paths.get(inputOption);
+        Path directory = Paths.get(options.getOrDefault("dir", "./data"));
+        StorageCodec target = StorageCodec.of(options.getOrDefault("format", "json"),
+                options.getOrDefault("compression", "none"));
+
+        String name = input.getFileName().toString();
+        boolean gzip = name.endsWith(".gz");
+        String base = gzip ? name.substring(0, name.length() - 3) : name;
+        String format = base.substring(base.lastIndexOf('.') + 1).toLowerCase();
+
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        HospitalStore store;
+        if ("csv".equals(format)) {
+            StorageCodec source = StorageCodec.of("json", gzip ? "gzip" : "none"); // 압축 해제만 사용
+            try (Reader reader = new InputStreamReader(source.openInput(input), StandardCharsets.UTF_8)) {
+                store = HospitalImporter.readCsv(reader);
+            }
+        } else {
+            StorageCodec source = StorageCodec.of(format, gzip ? "gzip" : "none");
+            try (InputStream in = source.openInput(input);
+                 JsonParser parser = source.getMapper().getFactory().createParser(in)) {
+                store = HospitalImporter.readJson(parser);
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long heapBytes = usedHeap() - heapBefore;
+        System.out.println(String.format("📥 %s: 병원 %,d개 (%dms, 메모리 약 %,d KB, 도시 %d종, 진료시간 %d종, 진료과 조합 %d종)",
+                input.getFileName(), store.size(), elapsedMs, Math.max(0, heapBytes) / 1024,
+                store.cityCount(), store.operatingHoursCount(), store.departmentSetCount()));
+
+        if (options.containsKey("dry-run")) {
+            return;
+        }
+        Files.createDirectories(directory);
+        Path output = directory.resolve(target.fileName("hospitals.json"));
+        Path temp = output.resolveSibling("." + output.getFileName() + ".tmp");
+        target.write(temp, store.view());
+        Files.move(temp, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        System.out.println(String.format("✅ %s 저장 (%,d bytes)", output.toAbsolutePath(), Files.size(output)));
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
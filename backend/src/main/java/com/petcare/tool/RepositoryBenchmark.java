@@ -0,0 +1,179 @@
+package com.petcare.tool;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petcare.config.SqlStorageConfig;
+import com.petcare.model.Reservation;
+import com.petcare.repository.ReservationRepository;
+import com.petcare.repository.file.FileReservationRepository;
+import com.petcare.repository.jdbc.JdbcReservationRepository;
+import com.petcare.util.DataFileWatcher;
+import com.petcare.util.DataJournal;
+import com.petcare.util.FileDataManager;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * 저장소 구현별(file / sharded / sql) 예약 조회·저장 시간 비교
+ *
+ * 실행 예:
+ *   mvn -q compile exec:java -Dexec.mainClass=com.petcare.tool.RepositoryBenchmark \
+ *       -Dexec.args="--backends=file,sharded,sql --sizes=10000,100000 --queries=1000 --writes=20"
+ *
+ * 모든 구현에 같은 예약 데이터와 같은 조회 순서를 사용합니다. (sharded: 월별 샤드 파일 저장소)
+ * 일괄 저장 후 저장소를 새로 열어 첫 조회(콜드) 시간을 따로 재고, 이후 조회는 평균 시간을 보고합니다.
+ */
+public class RepositoryBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = DataMigrationTool.parseOptions(args);
+        String[] backends = options.getOrDefault("backends", "file,sharded,sql").split(",");
+        int[] sizes = Arrays.stream(options.getOrDefault("sizes", "10000,100000").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim()))
+                .toArray();
+        int queries = Integer.parseInt(options.getOrDefault("queries", "1000"));
+        int writes = Integer.parseInt(options.getOrDefault("writes", "20"));
+
+        Path root = Files.createTempDirectory("petcare-repository-bench");
+        try {
+            System.out.println(String.format("%-8s %-10s %-22s %12s %12s", "backend", "records", "operation", "total(ms)", "avg(us)"));
+            for (int size : sizes) {
+                List<Reservation> reservations = StorageBenchmark.generateReservations(size);
+                for (String backend : backends) {
+                    Path directory = Files.createDirectories(root.resolve(backend.trim() + "-" + size));
+                    run(backend.trim(), directory, reservations, queries, writes);
+                }
+            }
+        } finally {
+            try (Stream<Path> walk = Files.walk(root)) {
+                walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    private static void run(String backend, Path directory, List<Reservation> reservations,
+                            int queries, int writes) throws IOException {
+        int size = reservations.size();
+        try (Backend store = open(backend, directory)) {
+            long start = System.nanoTime();
+            store.repository.saveAll(reservations);
+            report(backend, size, "saveAll", System.nanoTime() - start, 1);
+        }
+
+        try (Backend store = open(backend, directory)) {
+            ReservationRepository repository = store.repository;
+            Random random = new Random(7);
+
+            Reservation first = reservations.get(0);
+            long start = System.nanoTime();
+            repository.search(null, null, null, first.getReservationDateTime(), first.getReservationDateTime().plusDays(1));
+            report(backend, size, "range query (cold)", System.nanoTime() - start, 1);
+
+            start = System.nanoTime();
+            repository.findByPetId(first.getPetId());
+            report(backend, size, "first query (cold)", System.nanoTime() - start, 1);
+
+            start = System.nanoTime();
+            for (int i = 0; i < queries; i++) {
+                check(repository.findById(pick(reservations, random).getId()) != null);
+            }
+            report(backend, size, "findById", System.nanoTime() - start, queries);
+
+            start = System.nanoTime();
+            for (int i = 0; i < queries; i++) {
+                check(!repository.findByPetId(pick(reservations, random).getPetId()).isEmpty());
+            }
+            report(backend, size, "findByPetId", System.nanoTime() - start, queries);
+
+            start = System.nanoTime();
+            for (int i = 0; i < queries; i++) {
+                Reservation sample = pick(reservations, random);
+                check(!repository.search(null, sample.getHospitalId(), sample.getStatus(), null, null).isEmpty());
+            }
+            report(backend, size, "search(hospital,status)", System.nanoTime() - start, queries);
+
+            start = System.nanoTime();
+            for (int i = 0; i < queries; i++) {
+                Reservation sample = pick(reservations, random);
+                check(!repository.search(null, null, null, sample.getReservationDateTime(),
+                        sample.getReservationDateTime().plusDays(1)).isEmpty());
+            }
+            report(backend, size, "search(1 day)", System.nanoTime() - start, queries);
+
+            start = System.nanoTime();
+            for (int i = 0; i < writes; i++) {
+                Reservation sample = pick(reservations, random);
+                sample.setStatus("confirmed");
+                repository.save(sample);
+            }
+            report(backend, size, "save", System.nanoTime() - start, writes);
+        }
+    }
+
+    private static Backend open(String backend, Path directory) throws IOException {
+        FileDataManager fileDataManager = new FileDataManager(directory.toString(), "json", "none");
+        switch (backend) {
+            case "file":
+            case "sharded": {
+                DataFileWatcher watcher = new DataFileWatcher(fileDataManager);
+                ReservationRepository repository = new FileReservationRepository(
+                        fileDataManager, watcher, new DataJournal(fileDataManager, false), "sharded".equals(backend));
+                return new Backend(repository, watcher::close);
+            }
+            case "sql": {
+                HikariDataSource dataSource = SqlStorageConfig.createDataSource(
+                        "jdbc:h2:file:" + directory.toAbsolutePath().resolve("petcare"), "sa", "");
+                ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+                ReservationRepository repository = new JdbcReservationRepository(new JdbcTemplate(dataSource),
+                        new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                        objectMapper, fileDataManager);
+                return new Backend(repository, dataSource::close);
+            }
+            default:
+                throw new IllegalArgumentException("지원하지 않는 저장소: " + backend + " (file|sharded|sql)");
+        }
+    }
+
+    private static Reservation pick(List<Reservation> reservations, Random random) {
+        return reservations.get(random.nextInt(reservations.size()));
+    }
+
+    private static void check(boolean condition) {
+        if (!condition) {
+            throw new IllegalStateException("조회 결과가 비어 있습니다");
+        }
+    }
+
+    private static void report(String backend, int size, String operation, long nanos, int count) {
+        System.out.println(String.format("%-8s %-10d %-22s %12.1f %12.1f",
+                backend, size, operation, nanos / 1e6, nanos / 1e3 / count));
+    }
+
+    private static class Backend implements Closeable {
+        private final ReservationRepository repository;
+        private final Closeable resource;
+
+        private Backend(ReservationRepository repository, Closeable resource) {
+            this.repository = repository;
+            this.resource = resource;
+        }
+
+        @Override
+        public void close() throws IOException {
+            resource.close();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.petcare.tool;
+
+import com.petcare.model.Pet;
+import com.petcare.model.Reservation;
+import com.petcare.repository.file.FilePetRepository;
+import com.petcare.repository.file.FileReservationRepository;
+import com.petcare.util.FileDataManager;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * pets.json / reservations.json 샤드 변환 도구 (1회성)
+ *
+ * 실행 예:
+ *   mvn -q compile exec:java -Dexec.mainClass=com.petcare.tool.ShardMigrationTool \
+ *       -Dexec.args="--dir=./data --pet-shards=16"
+ *
+ * 옵션: --dir, --format, --compression, --pet-shards, --merge
+ * - 기본: 단일 파일을 샤드 파일로 나누고 원본은 *.unsharded로 남깁니다.
+ *         이미 샤드가 있으면 현재 샤드 수 기준으로 다시 배치합니다. (--pet-shards 변경 시)
+ * - --merge: 샤드 파일을 다시 단일 파일로 합칩니다. (샤딩을 끌 때)
+ * 애플리케이션을 멈춘 상태에서 실행하고, 저널 모드라면 먼저 압축이 끝난 상태여야 합니다.
+ * 샤딩을 켜면 애플리케이션도 처음 로드할 때 같은 변환을 자동으로 수행합니다.
+ */
+public class ShardMigrationTool {
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = DataMigrationTool.parseOptions(args);
+        FileDataManager fileDataManager = new FileDataManager(options.getOrDefault("dir", "./data"),
+                options.getOrDefault("format", "json"), options.getOrDefault("compression", "none"));
+        int petShards = Integer.parseInt(options.getOrDefault("pet-shards", "16"));
+
+        if (options.containsKey("merge")) {
+            fileDataManager.mergeShards("pets.json", Pet.class, Pet::getId);
+            fileDataManager.mergeShards("reservations.json", Reservation.class, Reservation::getId);
+            System.out.println("✅ 병합 완료. app.data.sharding.enabled=false 로 설정하세요.");
+            return;
+        }
+
+        fileDataManager.migrateToShards("pets.json", Pet.class, Pet::getId,
+                pet -> FilePetRepository.shardKey(pet.getId(), petShards));
+        fileDataManager.migrateToShards("reservations.json", Reservation.class, Reservation::getId,
+                FileReservationRepository::shardKey);
+        System.out.println("✅ 변환 완료. app.data.sharding.enabled=true, app.data.sharding.pet-shards=" + petShards
+                + " 로 설정하세요.");
+    }
+}
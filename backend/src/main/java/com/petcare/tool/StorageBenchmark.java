@@ -0,0 +1,101 @@
+package com.petcare.tool;
+
+import com.petcare.model.Reservation;
+import com.petcare.util.FileDataManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * 저장 형식별 저장/로드 시간 및 파일 크기 비교
+ *
+ * 실행 예 (1M 건은 힙이 넉넉해야 합니다):
+ *   MAVEN_OPTS="-Xmx4g" mvn -q compile exec:java -Dexec.mainClass=com.petcare.tool.StorageBenchmark \
+ *       -Dexec.args="--sizes=10000,100000,1000000 --iterations=3"
+ *
+ * 각 형식마다 FileDataManager로 예약 목록을 저장·로드하며, 1회 워밍업 후 최소 시간을 보고합니다.
+ */
+public class StorageBenchmark {
+
+    private static final String[][] CODECS = {
+            {"json", "none"}, {"json", "gzip"},
+            {"smile", "none"}, {"smile", "gzip"},
+            {"cbor", "none"}, {"cbor", "gzip"},
+    };
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = DataMigrationTool.parseOptions(args);
+        int[] sizes = Arrays.stream(options.getOrDefault("sizes", "10000,100000,1000000").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim()))
+                .toArray();
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "3"));
+
+        Path root = Files.createTempDirectory("petcare-storage-bench");
+        try {
+            System.out.println(String.format("%-10s %-12s %12s %12s %14s", "records", "format", "save(ms)", "load(ms)", "size(bytes)"));
+            for (int size : sizes) {
+                List<Reservation> reservations = generateReservations(size);
+                for (String[] codec : CODECS) {
+                    Path directory = Files.createDirectories(root.resolve(codec[0] + "-" + codec[1]));
+                    FileDataManager manager = new FileDataManager(directory.toString(), codec[0], codec[1]);
+                    long save = Long.MAX_VALUE;
+                    long load = Long.MAX_VALUE;
+                    for (int i = 0; i <= iterations; i++) {
+                        long start = System.nanoTime();
+                        manager.saveListToFile("reservations.json", reservations);
+                        long saved = System.nanoTime();
+                        List<Reservation> loaded = manager.loadListFromFile("reservations.json", Reservation.class);
+                        long end = System.nanoTime();
+                        if (loaded.size() != size) {
+                            throw new IllegalStateException("로드 건수 불일치: " + loaded.size());
+                        }
+                        if (i > 0) { // 첫 회는 워밍업
+                            save = Math.min(save, saved - start);
+                            load = Math.min(load, end - saved);
+                        }
+                    }
+                    long bytes = Files.size(directory.resolve(manager.resolveFileName("reservations.json")));
+                    System.out.println(String.format("%-10d %-12s %12.1f %12.1f %,14d",
+                            size, manager.getCodec(), save / 1e6, load / 1e6, bytes));
+                }
+            }
+        } finally {
+            try (Stream<Path> walk = Files.walk(root)) {
+                walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    static List<Reservation> generateReservations(int count) {
+        Random random = new Random(42);
+        String[] statuses = {"pending", "confirmed", "cancelled"};
+        List<String> petIds = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, count / 20); i++) {
+            petIds.add(UUID.randomUUID().toString());
+        }
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Reservation> reservations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            reservations.add(new Reservation(
+                    UUID.randomUUID().toString(),
+                    petIds.get(random.nextInt(petIds.size())),
+                    String.format("hosp_%03d", 1 + random.nextInt(160)),
+                    base.plusMinutes(30L * random.nextInt(2 * 365 * 24)),
+                    statuses[random.nextInt(statuses.length)],
+                    random.nextInt(4) == 0 ? "첫 방문입니다. 예방접종 기록 지참 예정" : null,
+                    "보호자" + random.nextInt(10000),
+                    String.format("010-%04d-%04d", random.nextInt(10000), random.nextInt(10000))));
+        }
+        return reservations;
+    }
+}
@@ -0,0 +1,57 @@
+package com.petcare.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 내부 백그라운드 작업용 스레드 생성 (병원 스냅샷 재생성, 데이터 파일 감시)
+ *
+ * 가상 스레드를 요청했고 Java 21 이상에서 실행 중이면 가상 스레드를, 아니면 데몬 플랫폼 스레드를 만듭니다.
+ * 빌드 대상은 Java 17이므로 Thread.ofVirtual()은 리플렉션으로 호출합니다.
+ */
+public final class BackgroundThreads {
+
+    private BackgroundThreads() {
+    }
+
+    public static boolean isVirtualSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * @param virtual true면 가능할 때 가상 스레드 사용 (Java 17에서는 무시)
+     */
+    public static ThreadFactory factory(String name, boolean virtual) {
+        if (virtual && isVirtualSupported()) {
+            return virtualFactory(name);
+        }
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static Thread start(String name, boolean virtual, Runnable task) {
+        Thread thread = factory(name, virtual).newThread(task);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Thread.ofVirtual().name(name).factory()
+     */
+    private static ThreadFactory virtualFactory(String name) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class).invoke(builder, name);
+            Method factory = builderType.getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException
+                 | InvocationTargetException e) {
+            throw new IllegalStateException("가상 스레드를 만들 수 없습니다: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.petcare.util;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 데이터 디렉토리 변경 감시
+ * 프로세스 외부에서 데이터 파일이 수정되면 등록된 리스너에 파일명을 알려줍니다.
+ * 샤드 파일처럼 하위 디렉토리에 생기는 파일은 registerDirectory로 디렉토리 단위로 감시합니다.
+ */
+@Component
+public class DataFileWatcher {
+
+    private final Map<String, List<Runnable>> listeners = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<String>>> directoryListeners = new ConcurrentHashMap<>();
+    private final Path directory;
+    private WatchService watchService;
+
+    public DataFileWatcher(FileDataManager fileDataManager) {
+        this(fileDataManager, false);
+    }
+
+    /**
+     * @param virtualThreads 감시 스레드를 가상 스레드로 실행 (Java 21 이상에서만 적용)
+     */
+    @Autowired
+    public DataFileWatcher(FileDataManager fileDataManager,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.directory = fileDataManager.getDataPath();
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            // 감시를 사용할 수 없으면 캐시 무효화는 프로세스 내부 쓰기에만 의존합니다.
+            System.err.println("⚠️ 데이터 디렉토리 감시 시작 실패: " + e.getMessage());
+            this.watchService = null;
+            return;
+        }
+
+        BackgroundThreads.start("data-file-watcher", virtualThreads, this::watchLoop);
+    }
+
+    /**
+     * 파일 변경 리스너 등록
+     * @param filename 데이터 디렉토리 기준 파일명 (예: "pets.json")
+     */
+    public void register(String filename, Runnable listener) {
+        listeners.computeIfAbsent(filename, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * 하위 디렉토리 변경 리스너 등록 (디렉토리가 없으면 생성)
+     * 리스너는 변경된 파일명(예: "07.json")을 받으며, 이벤트가 유실된 경우에는 null을 받습니다.
+     * @param subdirectory 데이터 디렉토리 기준 하위 디렉토리명 (예: "pets")
+     */
+    public void registerDirectory(String subdirectory, Consumer<String> listener) {
+        directoryListeners.computeIfAbsent(subdirectory, k -> new CopyOnWriteArrayList<>()).add(listener);
+        if (watchService == null) {
+            return;
+        }
+        try {
+            Path path = Files.createDirectories(directory.resolve(subdirectory));
+            path.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            System.err.println("⚠️ 하위 디렉토리 감시 시작 실패: " + subdirectory + " - " + e.getMessage());
+        }
+    }
+
+    private void watchLoop() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // 이벤트 유실 시 모든 리스너에 알림
+                    listeners.values().forEach(list -> list.forEach(this::notifySafely));
+                    directoryListeners.values().forEach(list -> list.forEach(l -> notifySafely(() -> l.accept(null))));
+                    continue;
+                }
+                String filename = ((Path) event.context()).getFileName().toString();
+                Path watched = (Path) key.watchable();
+                if (!watched.equals(directory)) {
+                    String subdirectory = directory.relativize(watched).toString();
+                    List<Consumer<String>> subdirectoryListeners = directoryListeners.get(subdirectory);
+                    if (subdirectoryListeners != null) {
+                        subdirectoryListeners.forEach(l -> notifySafely(() -> l.accept(filename)));
+                    }
+                    continue;
+                }
+                List<Runnable> fileListeners = listeners.get(filename);
+                if (fileListeners != null) {
+                    fileListeners.forEach(this::notifySafely);
+                }
+            }
+            if (!key.reset()) {
+                return;
+            }
+        }
+    }
+
+    private void notifySafely(Runnable listener) {
+        try {
+            listener.run();
+        } catch (Exception e) {
+            System.err.println("파일 변경 알림 처리 오류: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.petcare.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 추가 전용(append-only) 변경 로그
+ * 각 변경을 "pets.json.journal" 같은 파일에 JSON 한 줄로 추가합니다.
+ * 스냅샷(pets.json) + 저널 재생으로 현재 상태를 복원하며,
+ * 주기적으로 스냅샷에 압축(compaction)한 뒤 저널을 비웁니다.
+ * 동시에 추가된 레코드는 그룹 커밋으로 묶여 한 번의 쓰기 + fsync로 기록됩니다.
+ */
+@Component
+public class DataJournal {
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String COMPACTING_SUFFIX = ".journal.compacting";
+
+    private final boolean enabled;
+    private final Path dataPath;
+    private final ObjectMapper objectMapper;
+    private final Map<String, AtomicLong> pendingRecords = new ConcurrentHashMap<>();
+    private final Map<String, Queue<Entry>> queues = new ConcurrentHashMap<>();
+    private final Map<String, GroupCommit> groupCommits = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> ioLocks = new ConcurrentHashMap<>();
+
+    public DataJournal(FileDataManager fileDataManager,
+                       @Value("${app.data.journal.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+        this.dataPath = fileDataManager.getDataPath();
+        this.objectMapper = fileDataManager.getObjectMapper();
+        if (enabled) {
+            System.out.println("📝 저널 저장 모드 활성화 (변경은 *.journal 파일에 추가 기록됩니다)");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 저널 레코드를 기록 대기열에 추가
+     * 레코드 순서가 메모리 반영 순서와 같도록 호출자는 저장소 락 안에서 호출해야 하며,
+     * 락을 푼 뒤 sync()로 디스크 반영을 기다립니다.
+     */
+    public void append(String filename, List<Entry> entries) {
+        queues.computeIfAbsent(filename, k -> new ConcurrentLinkedQueue<>()).addAll(entries);
+    }
+
+    /**
+     * 대기열의 레코드가 디스크에 반영될 때까지 대기 (그룹 커밋)
+     */
+    public void sync(String filename) throws IOException {
+        groupCommits.computeIfAbsent(filename, f -> new GroupCommit(() -> flush(f))).commit();
+    }
+
+    public Entry put(String id, Object entity) {
+        return new Entry(Entry.PUT, id, objectMapper.valueToTree(entity));
+    }
+
+    public Entry delete(String id) {
+        return new Entry(Entry.DELETE, id, null);
+    }
+
+    /**
+     * 스냅샷 위에 저널을 재생
+     * 압축 도중 중단된 저널(.compacting)이 있으면 먼저 재생합니다. 레코드는 id 기준 멱등입니다.
+     */
+    public <T> void replay(String filename, Class<T> type, Map<String, T> target) throws IOException {
+        long replayed = replayFile(compactingPath(filename), type, target);
+        long pending = replayFile(journalPath(filename), type, target);
+        truncateTornTail(journalPath(filename));
+        counter(filename).set(pending);
+        if (replayed + pending > 0) {
+            System.out.println("📝 저널 재생: " + filename + " (" + (replayed + pending) + "건)");
+        }
+    }
+
+    /**
+     * 압축 시작: 현재 저널을 .compacting으로 옮기고 새 저널을 시작합니다.
+     * @return 옮길 레코드가 없으면 false
+     */
+    public boolean beginCompaction(String filename) throws IOException {
+        ReentrantLock ioLock = ioLock(filename);
+        ioLock.lock();
+        try {
+            Path journal = journalPath(filename);
+            if (counter(filename).get() == 0 || !Files.exists(journal)) {
+                return false;
+            }
+            Path compacting = compactingPath(filename);
+            if (Files.exists(compacting)) {
+                // 이전 압축이 중단된 경우: 두 세그먼트를 합쳐서 보존
+                Files.write(compacting, Files.readAllBytes(journal), StandardOpenOption.APPEND);
+                Files.delete(journal);
+            } else {
+                Files.move(journal, compacting, StandardCopyOption.ATOMIC_MOVE);
+            }
+            counter(filename).set(0);
+            return true;
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * 압축 완료: 스냅샷 저장이 끝난 뒤 호출하여 옮겨둔 저널을 삭제합니다.
+     */
+    public void completeCompaction(String filename) throws IOException {
+        Files.deleteIfExists(compactingPath(filename));
+    }
+
+    public long pendingRecords(String filename) {
+        return counter(filename).get();
+    }
+
+    private void flush(String filename) throws IOException {
+        Queue<Entry> queue = queues.get(filename);
+        ReentrantLock ioLock = ioLock(filename);
+        ioLock.lock();
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            int count = 0;
+            Entry entry;
+            while (queue != null && (entry = queue.poll()) != null) {
+                buffer.write(objectMapper.writeValueAsBytes(entry));
+                buffer.write('\n');
+                count++;
+            }
+            if (count == 0) {
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(journalPath(filename),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(false);
+            }
+            counter(filename).addAndGet(count);
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    private <T> long replayFile(Path path, Class<T> type, Map<String, T> target) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Entry entry;
+                try {
+                    entry = objectMapper.readValue(line, Entry.class);
+                } catch (IOException e) {
+                    // 기록 도중 중단된 마지막 줄은 무시
+                    System.err.println("저널 레코드 손상 (무시): " + path.getFileName() + " - " + e.getMessage());
+                    continue;
+                }
+                if (Entry.DELETE.equals(entry.getOp())) {
+                    target.remove(entry.getId());
+                } else {
+                    target.put(entry.getId(), objectMapper.treeToValue(entry.getData(), type));
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 마지막 줄이 개행 없이 끝났으면(기록 중 중단) 잘라내어 다음 추가 레코드와 섞이지 않게 합니다.
+     */
+    private void truncateTornTail(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            ByteBuffer one = ByteBuffer.allocate(1);
+            long position = size;
+            while (position > 0) {
+                one.clear();
+                channel.read(one, position - 1);
+                if (one.get(0) == '\n') {
+                    break;
+                }
+                position--;
+            }
+            if (position < size) {
+                channel.truncate(position);
+            }
+        }
+    }
+
+    private ReentrantLock ioLock(String filename) {
+        return ioLocks.computeIfAbsent(filename, k -> new ReentrantLock());
+    }
+
+    private AtomicLong counter(String filename) {
+        return pendingRecords.computeIfAbsent(filename, k -> new AtomicLong());
+    }
+
+    private Path journalPath(String filename) {
+        return dataPath.resolve(filename + JOURNAL_SUFFIX);
+    }
+
+    private Path compactingPath(String filename) {
+        return dataPath.resolve(filename + COMPACTING_SUFFIX);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        public static final String PUT = "put";
+        public static final String DELETE = "delete";
+
+        private String op; // put, delete
+        private String id;
+        private JsonNode data; // put일 때 엔티티 전체
+    }
+}
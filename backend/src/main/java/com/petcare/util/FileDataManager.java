@@ -1,6 +1,10 @@
 package com.petcare.util;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.type.CollectionType;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,21 +12,61 @@ import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+/**
+ * JSON 파일 입출력
+ * - 파일별 읽기/쓰기 락으로 동시 접근을 직렬화합니다.
+ * - 쓰기는 임시 파일에 기록 + fsync 후 rename하므로 읽는 쪽은 항상 완성된 파일만 봅니다.
+ * - 저장 형식은 app.data.format / app.data.compression으로 선택합니다 (StorageCodec 참고).
+ * - findById는 데이터 파일 옆의 id 인덱스(*.idx)로 레코드 하나만 읽어 디코딩합니다 (IdIndex 참고).
+ * - query는 파일을 토큰 단위로 스트리밍하며 조건에 맞는 레코드만 모으고, limit에 도달하면 즉시 멈춥니다.
+ * - 샤딩: "reservations.json"을 "reservations/2026-10.json"처럼 키별 파일로 나눠 저장할 수 있습니다.
+ *   샤드 파일도 일반 논리 파일명으로 다루므로 위의 모든 기능을 그대로 사용합니다.
+ */
 @Component
 public class FileDataManager {
     private final String dataDirectory;
     private final ObjectMapper objectMapper;
+    private final StorageCodec codec;
+    private final Map<String, ReentrantReadWriteLock> fileLocks = new ConcurrentHashMap<>();
+    private final Map<String, GroupCommit> groupCommits = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<? extends List<?>>> latestSnapshots = new ConcurrentHashMap<>();
+    // 이 프로세스가 마지막으로 기록한 시점의 파일 수정 시각
+    private final Map<String, FileTime> ownWrites = new ConcurrentHashMap<>();
+    private final Map<String, IdIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> indexLocks = new ConcurrentHashMap<>();
 
-    public FileDataManager(@Value("${app.data.directory:./data}") String dataDirectory) {
+    public FileDataManager(@Value("${app.data.directory:./data}") String dataDirectory,
+                           @Value("${app.data.format:json}") String format,
+                           @Value("${app.data.compression:none}") String compression) {
         this.dataDirectory = dataDirectory;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
+        this.codec = StorageCodec.of(format, compression);
+        if (!"json".equals(codec.getFormat()) || codec.isCompressed()) {
+            System.out.println("💾 데이터 저장 형식: " + codec + " (예: pets.json → " + codec.fileName("pets.json") + ")");
+        }
         
         // data 디렉토리 생성
         try {
@@ -35,44 +79,423 @@ public class FileDataManager {
         }
     }
 
-    public <T> void saveToFile(String filename, T data) throws IOException {
-        File file = new File(dataDirectory, filename);
-        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, data);
+    /**
+     * JSON 매퍼 (저널 등 항상 JSON으로 기록하는 곳에서 사용)
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
     }
 
-    public <T> T loadFromFile(String filename, Class<T> clazz) throws IOException {
-        File file = new File(dataDirectory, filename);
-        if (!file.exists() || file.length() == 0) {
-            return null;
+    public StorageCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * 논리 파일명에 해당하는 실제 파일명 (예: "pets.json" → "pets.smile")
+     */
+    public String resolveFileName(String filename) {
+        return codec.fileName(filename);
+    }
+
+    public Path getDataPath() {
+        return Paths.get(dataDirectory);
+    }
+
+    /**
+     * 파일의 현재 내용이 이 프로세스가 마지막으로 기록한 것인지 확인
+     * 저장소 캐시가 자신이 쓴 파일인지 외부 수정인지 구분할 때 사용합니다.
+     * 기록 중이면 기록이 끝날 때까지 기다린 뒤 비교합니다.
+     */
+    public boolean isOwnWrite(String filename) {
+        ReentrantReadWriteLock.ReadLock readLock = lockFor(filename).readLock();
+        readLock.lock();
+        try {
+            FileTime written = ownWrites.get(filename);
+            return written != null && Objects.equals(written, lastModified(filename));
+        } finally {
+            readLock.unlock();
         }
+    }
+
+    /**
+     * 파일의 마지막 수정 시각 (파일이 없으면 null)
+     */
+    public FileTime lastModified(String filename) {
+        Path path = pathOf(filename);
         try {
-            return objectMapper.readValue(file, clazz);
-        } catch (Exception e) {
-            // JSON 파싱 오류 시 null 반환
-            System.err.println("파일 읽기 오류: " + filename + " - " + e.getMessage());
+            return Files.exists(path) ? Files.getLastModifiedTime(path) : null;
+        } catch (IOException e) {
             return null;
         }
     }
 
-    public <T> List<T> loadListFromFile(String filename, Class<T> clazz) throws IOException {
-        File file = new File(dataDirectory, filename);
-        if (!file.exists() || file.length() == 0) {
+    public boolean exists(String filename) {
+        return Files.exists(pathOf(filename));
+    }
+
+    /**
+     * 파일과 id 인덱스 삭제
+     */
+    public void delete(String filename) throws IOException {
+        ReentrantReadWriteLock.WriteLock writeLock = lockFor(filename).writeLock();
+        writeLock.lock();
+        try {
+            Path path = pathOf(filename);
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(path.resolveSibling(path.getFileName() + ".idx"));
+            indexes.remove(filename);
+            ownWrites.remove(filename);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 샤드 파일의 논리 파일명 (예: "reservations.json", "2026-10" → "reservations/2026-10.json")
+     */
+    public static String shardFileName(String filename, String shardKey) {
+        return shardDirectory(filename) + "/" + shardKey + ".json";
+    }
+
+    /**
+     * 샤드 파일이 저장되는 하위 디렉토리 (예: "reservations.json" → "reservations")
+     */
+    public static String shardDirectory(String filename) {
+        return filename.endsWith(".json") ? filename.substring(0, filename.length() - ".json".length()) : filename;
+    }
+
+    /**
+     * 샤드 디렉토리의 파일명 → 샤드 키 (이 저장 형식의 데이터 파일이 아니면 null)
+     */
+    public String shardKeyOf(String shardFile) {
+        String logical = codec.logicalName(shardFile);
+        return logical == null || logical.startsWith(".") ? null : shardDirectory(logical);
+    }
+
+    /**
+     * 디스크에 있는 샤드 키 목록 (정렬됨)
+     */
+    public List<String> listShards(String filename) throws IOException {
+        Path directory = getDataPath().resolve(shardDirectory(filename));
+        if (!Files.isDirectory(directory)) {
             return new ArrayList<>();
         }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> shardKeyOf(p.getFileName().toString()))
+                    .filter(Objects::nonNull)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 단일 파일 → 샤드 파일 변환 (샤드 구성이 바뀐 경우 기존 샤드도 다시 배치)
+     * 기존 단일 파일과 샤드를 모두 읽어 shardOf로 다시 나누어 저장한 뒤,
+     * 단일 파일은 "*.unsharded" 백업으로 이름을 바꾸고 더 이상 쓰이지 않는 샤드는 삭제합니다.
+     * 저장소가 파일을 쓰는 중에는 호출하지 마세요. (시작 시 또는 ShardMigrationTool에서만 사용)
+     * @return 저장한 레코드 수
+     */
+    public <T> int migrateToShards(String filename, Class<T> clazz, Function<T, String> idOf,
+                                   Function<T, String> shardOf) throws IOException {
+        Map<String, T> records = new LinkedHashMap<>();
+        for (T record : loadListFromFile(filename, clazz)) {
+            records.put(idOf.apply(record), record);
+        }
+        List<String> existing = listShards(filename);
+        for (String shard : existing) {
+            for (T record : loadListFromFile(shardFileName(filename, shard), clazz)) {
+                records.put(idOf.apply(record), record);
+            }
+        }
+
+        Map<String, List<T>> shards = new LinkedHashMap<>();
+        for (T record : records.values()) {
+            shards.computeIfAbsent(shardOf.apply(record), k -> new ArrayList<>()).add(record);
+        }
+        for (Map.Entry<String, List<T>> shard : shards.entrySet()) {
+            saveListToFile(shardFileName(filename, shard.getKey()), shard.getValue());
+        }
+        for (String shard : existing) {
+            if (!shards.containsKey(shard)) {
+                delete(shardFileName(filename, shard));
+            }
+        }
+        if (exists(filename)) {
+            Path legacy = pathOf(filename);
+            Files.move(legacy, legacy.resolveSibling(legacy.getFileName() + ".unsharded"),
+                    StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(legacy.resolveSibling(legacy.getFileName() + ".idx"));
+            indexes.remove(filename);
+        }
+        System.out.println("🧩 샤드 변환: " + filename + " → " + shardDirectory(filename) + "/ ("
+                + records.size() + "건, 샤드 " + shards.size() + "개)");
+        return records.size();
+    }
+
+    /**
+     * 샤드 파일 → 단일 파일 변환 (샤딩을 끌 때 사용, 샤드 파일은 삭제)
+     * @return 저장한 레코드 수
+     */
+    public <T> int mergeShards(String filename, Class<T> clazz, Function<T, String> idOf) throws IOException {
+        Map<String, T> records = new LinkedHashMap<>();
+        for (T record : loadListFromFile(filename, clazz)) {
+            records.put(idOf.apply(record), record);
+        }
+        List<String> existing = listShards(filename);
+        for (String shard : existing) {
+            for (T record : loadListFromFile(shardFileName(filename, shard), clazz)) {
+                records.put(idOf.apply(record), record);
+            }
+        }
+        saveListToFile(filename, new ArrayList<>(records.values()));
+        for (String shard : existing) {
+            delete(shardFileName(filename, shard));
+        }
+        System.out.println("🧩 샤드 병합: " + shardDirectory(filename) + "/ → " + filename + " (" + records.size() + "건)");
+        return records.size();
+    }
+
+    public <T> void saveToFile(String filename, T data) throws IOException {
+        writeAtomically(filename, data);
+    }
+
+    public <T> T loadFromFile(String filename, Class<T> clazz) throws IOException {
+        ReentrantReadWriteLock.ReadLock readLock = lockFor(filename).readLock();
+        readLock.lock();
         try {
-            CollectionType listType = objectMapper.getTypeFactory()
-                    .constructCollectionType(List.class, clazz);
-            return objectMapper.readValue(file, listType);
-        } catch (Exception e) {
-            // JSON 파싱 오류 시 빈 리스트 반환
-            System.err.println("파일 읽기 오류: " + filename + " - " + e.getMessage());
-            return new ArrayList<>();
+            File file = pathOf(filename).toFile();
+            if (!file.exists() || file.length() == 0) {
+                return null;
+            }
+            try {
+                return codec.read(file.toPath(), codec.getMapper().constructType(clazz));
+            } catch (Exception e) {
+                // JSON 파싱 오류 시 null 반환
+                System.err.println("파일 읽기 오류: " + filename + " - " + e.getMessage());
+                return null;
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public <T> List<T> loadListFromFile(String filename, Class<T> clazz) throws IOException {
+        ReentrantReadWriteLock.ReadLock readLock = lockFor(filename).readLock();
+        readLock.lock();
+        try {
+            File file = pathOf(filename).toFile();
+            if (!file.exists() || file.length() == 0) {
+                return new ArrayList<>();
+            }
+            try {
+                CollectionType listType = codec.getMapper().getTypeFactory()
+                        .constructCollectionType(List.class, clazz);
+                return codec.read(file.toPath(), listType);
+            } catch (Exception e) {
+                // JSON 파싱 오류 시 빈 리스트 반환
+                System.err.println("파일 읽기 오류: " + filename + " - " + e.getMessage());
+                return new ArrayList<>();
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * 스트리밍 조회
+     * 배열의 객체를 하나씩 역직렬화해 조건을 검사하고, 결과가 limit개가 되면 나머지는 읽지 않습니다.
+     * 조건에 맞지 않는 객체는 바로 버려지므로 전체 목록을 힙에 올리지 않습니다.
+     */
+    public <T> List<T> query(String filename, Class<T> clazz, Predicate<? super T> filter, int limit) throws IOException {
+        List<T> results = new ArrayList<>();
+        if (limit <= 0) {
+            return results;
+        }
+        ReentrantReadWriteLock.ReadLock readLock = lockFor(filename).readLock();
+        readLock.lock();
+        try {
+            Path path = pathOf(filename);
+            if (!Files.exists(path) || Files.size(path) == 0) {
+                return results;
+            }
+            ObjectReader reader = codec.getMapper().readerFor(clazz);
+            try (InputStream in = codec.openInput(path);
+                 JsonParser parser = codec.getMapper().getFactory().createParser(in)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    System.err.println("파일 읽기 오류: " + filename + " - 배열 형식이 아닙니다");
+                    return results;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    T value = reader.readValue(parser);
+                    if (filter.test(value)) {
+                        results.add(value);
+                        if (results.size() >= limit) {
+                            break;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // loadListFromFile과 같이 파싱 오류는 지금까지 찾은 결과로 대체
+                System.err.println("파일 읽기 오류: " + filename + " - " + e.getMessage());
+            }
+            return results;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * 파일을 파서로 직접 읽기 (객체 목록을 만들지 않는 스트리밍 가져오기용)
+     * 파일이 없거나 비어 있으면 null, 파싱 오류는 IOException으로 전달합니다.
+     */
+    public <R> R stream(String filename, StreamReader<R> reader) throws IOException {
+        ReentrantReadWriteLock.ReadLock readLock = lockFor(filename).readLock();
+        readLock.lock();
+        try {
+            Path path = pathOf(filename);
+            if (!Files.exists(path) || Files.size(path) == 0) {
+                return null;
+            }
+            try (InputStream in = codec.openInput(path);
+                 JsonParser parser = codec.getMapper().getFactory().createParser(in)) {
+                return reader.read(parser);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    public interface StreamReader<R> {
+        R read(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * 조건에 맞는 첫 레코드 (찾는 즉시 스트리밍 중단, 없으면 null)
+     */
+    public <T> T findFirst(String filename, Class<T> clazz, Predicate<? super T> filter) throws IOException {
+        List<T> results = query(filename, clazz, filter, 1);
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    /**
+     * id 인덱스를 사용할 수 있는 저장 형식인지 (json, cbor 비압축)
+     */
+    public boolean supportsIndexedLookup() {
+        return codec.supportsRandomAccess();
+    }
+
+    /**
+     * id로 레코드 하나 조회 (전체 목록을 역직렬화하지 않음)
+     * 인덱스가 없거나 데이터 파일보다 오래됐으면 먼저 다시 만듭니다.
+     * @return 없으면 null
+     */
+    public <T> T findById(String filename, Class<T> clazz, String id) throws IOException {
+        if (!supportsIndexedLookup()) {
+            throw new IllegalStateException("id 인덱스를 지원하지 않는 저장 형식입니다: " + codec);
+        }
+        ReentrantReadWriteLock.ReadLock readLock = lockFor(filename).readLock();
+        readLock.lock();
+        try {
+            Path data = pathOf(filename);
+            if (!Files.exists(data) || Files.size(data) == 0) {
+                return null;
+            }
+            IdIndex index = indexFor(filename, data);
+            long[][] slots = index.lookup(id);
+            if (slots.length == 0) {
+                return null;
+            }
+            try (FileChannel channel = FileChannel.open(data, StandardOpenOption.READ)) {
+                for (long[] slot : slots) {
+                    JsonNode node = codec.getMapper().readTree(IdIndex.readSlice(channel, slot[0], (int) slot[1]));
+                    if (id.equals(node.path("id").asText(null))) {
+                        return codec.getMapper().treeToValue(node, clazz);
+                    }
+                }
+            }
+            return null;
+        } finally {
+            readLock.unlock();
         }
     }
 
     public <T> void saveListToFile(String filename, List<T> data) throws IOException {
-        File file = new File(dataDirectory, filename);
-        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, data);
+        writeAtomically(filename, data);
+    }
+
+    /**
+     * 그룹 커밋으로 목록 저장
+     * 동시에 들어온 저장 요청은 한 번의 기록 + fsync로 합쳐지며, 기록 시점에 snapshot을 호출해
+     * 가장 최신 상태를 씁니다. 호출자의 변경이 디스크에 반영된 뒤 반환합니다.
+     * snapshot이 null을 반환하면 기록을 건너뜁니다.
+     */
+    public <T> void commitListToFile(String filename, Supplier<List<T>> snapshot) throws IOException {
+        latestSnapshots.put(filename, snapshot);
+        groupCommits.computeIfAbsent(filename, f -> new GroupCommit(() -> {
+            List<?> data = latestSnapshots.get(f).get();
+            if (data != null) {
+                saveListToFile(f, data);
+            }
+        })).commit();
+    }
+
+    private void writeAtomically(String filename, Object data) throws IOException {
+        ReentrantReadWriteLock.WriteLock writeLock = lockFor(filename).writeLock();
+        writeLock.lock();
+        try {
+            Path target = pathOf(filename);
+            Files.createDirectories(target.getParent());
+            // 파일별 쓰기 락 안에서만 사용하므로 임시 파일명은 고정해도 충돌하지 않습니다.
+            Path temp = target.resolveSibling("." + target.getFileName() + ".tmp");
+            try {
+                codec.write(temp, data);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                ownWrites.put(filename, Files.getLastModifiedTime(target));
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 매핑된 인덱스 반환 (데이터 파일과 맞지 않으면 디스크의 인덱스를 열거나 새로 생성)
+     */
+    private IdIndex indexFor(String filename, Path data) throws IOException {
+        IdIndex index = indexes.get(filename);
+        if (index != null && index.matches(data)) {
+            return index;
+        }
+        ReentrantLock indexLock = indexLocks.computeIfAbsent(filename, k -> new ReentrantLock());
+        indexLock.lock();
+        try {
+            index = indexes.get(filename);
+            if (index != null && index.matches(data)) {
+                return index;
+            }
+            Path indexPath = data.resolveSibling(data.getFileName() + ".idx");
+            index = IdIndex.open(indexPath, data);
+            if (index == null) {
+                long start = System.nanoTime();
+                index = IdIndex.build(data, indexPath, codec.getMapper().getFactory());
+                System.out.println("🗂️ id 인덱스 생성: " + indexPath.getFileName() + " (" + index.size() + "건, "
+                        + (System.nanoTime() - start) / 1_000_000 + "ms)");
+            }
+            indexes.put(filename, index);
+            return index;
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    private Path pathOf(String filename) {
+        return Paths.get(dataDirectory, codec.fileName(filename));
+    }
+
+    private ReentrantReadWriteLock lockFor(String filename) {
+        return fileLocks.computeIfAbsent(filename, k -> new ReentrantReadWriteLock());
     }
 }
 
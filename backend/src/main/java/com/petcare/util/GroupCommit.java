@@ -0,0 +1,71 @@
+package com.petcare.util;
+
+import java.io.IOException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 그룹 커밋 (여러 동시 변경을 한 번의 기록 + fsync로 묶음)
+ * - commit()을 호출한 스레드 중 하나가 리더가 되어 flush 작업을 실행합니다.
+ * - 리더가 기록하는 동안 들어온 요청은 다음 배치로 모였다가 한 번에 기록됩니다.
+ * - 각 호출자는 자신이 속한 배치가 디스크에 반영된 뒤에 반환됩니다.
+ */
+public class GroupCommit {
+
+    @FunctionalInterface
+    public interface FlushAction {
+        void flush() throws IOException;
+    }
+
+    private static class Batch {
+        private boolean done;
+        private Exception error;
+    }
+
+    private final FlushAction flushAction;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private Batch pending = new Batch();
+    private boolean flushing;
+
+    public GroupCommit(FlushAction flushAction) {
+        this.flushAction = flushAction;
+    }
+
+    /**
+     * 현재까지의 변경이 기록될 때까지 대기
+     * @throws IOException 이 호출이 포함된 배치의 기록이 실패한 경우
+     */
+    public void commit() throws IOException {
+        lock.lock();
+        try {
+            Batch mine = pending;
+            while (!mine.done) {
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                // 리더: 모인 배치를 가져가고 새 배치를 열어둔 뒤 락 밖에서 기록
+                flushing = true;
+                Batch batch = pending;
+                pending = new Batch();
+                lock.unlock();
+                try {
+                    flushAction.flush();
+                } catch (IOException | RuntimeException e) {
+                    batch.error = e;
+                } finally {
+                    lock.lock();
+                    flushing = false;
+                    batch.done = true;
+                    flushed.signalAll();
+                }
+            }
+            if (mine.error != null) {
+                throw new IOException("그룹 커밋 실패: " + mine.error.getMessage(), mine.error);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.petcare.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 데이터 파일 옆에 저장되는 id 인덱스 (예: pets.json.idx)
+ * id 해시 → 레코드의 바이트 오프셋/길이를 해시 순으로 정렬해 저장하고,
+ * 메모리 매핑한 뒤 이진 탐색하여 레코드 하나만 디코딩할 수 있게 합니다.
+ *
+ * 파일 구조: [magic][version][데이터 파일 크기][데이터 파일 수정 시각(ns)][건수]
+ *           + 건수 × [id 해시(long)][오프셋(long)][길이(int)]
+ * 데이터 파일의 크기나 수정 시각이 헤더와 다르면 오래된 인덱스로 보고 다시 만듭니다.
+ */
+public final class IdIndex {
+
+    private static final int MAGIC = 0x50434958; // "PCIX"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4;
+    private static final int ENTRY_BYTES = 8 + 8 + 4;
+    private static final String ID_FIELD = "id";
+
+    private final MappedByteBuffer buffer;
+    private final long dataSize;
+    private final long dataModified;
+    private final int count;
+
+    private IdIndex(MappedByteBuffer buffer, long dataSize, long dataModified, int count) {
+        this.buffer = buffer;
+        this.dataSize = dataSize;
+        this.dataModified = dataModified;
+        this.count = count;
+    }
+
+    /**
+     * 인덱스 파일을 매핑 (없거나 손상됐거나 데이터 파일과 맞지 않으면 null)
+     */
+    public static IdIndex open(Path indexPath, Path dataPath) throws IOException {
+        if (!Files.exists(indexPath)) {
+            return null;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return null;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            return null;
+        }
+        int count = buffer.getInt(24);
+        if (buffer.capacity() != HEADER_BYTES + (long) count * ENTRY_BYTES) {
+            return null;
+        }
+        IdIndex index = new IdIndex(buffer, buffer.getLong(8), buffer.getLong(16), count);
+        return index.matches(dataPath) ? index : null;
+    }
+
+    /**
+     * 데이터 파일(최상위가 객체 배열)을 스트리밍으로 한 번 읽어 인덱스를 만들고 매핑합니다.
+     * 각 객체의 "id" 필드만 읽고 나머지 값은 건너뜁니다.
+     */
+    public static IdIndex build(Path dataPath, Path indexPath, JsonFactory factory) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(dataPath, BasicFileAttributes.class);
+        long[] hashes = new long[1024];
+        long[] offsets = new long[1024];
+        int[] lengths = new int[1024];
+        int count = 0;
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(dataPath), 64 * 1024);
+             JsonParser parser = factory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("배열 형식의 데이터 파일이 아닙니다: " + dataPath.getFileName());
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                long start = parser.getTokenLocation().getByteOffset();
+                String id = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    if (ID_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+                        id = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                long end = parser.getCurrentLocation().getByteOffset();
+                if (start < 0 || end <= start) {
+                    throw new IOException("바이트 오프셋을 지원하지 않는 형식입니다");
+                }
+                if (id == null) {
+                    continue;
+                }
+                if (count == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, count * 2);
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                    lengths = Arrays.copyOf(lengths, count * 2);
+                }
+                hashes[count] = hash(id);
+                offsets[count] = start;
+                lengths[count] = (int) (end - start);
+                count++;
+            }
+        }
+
+        // 해시 순으로 정렬 (정렬된 순서의 원래 위치를 구해 세 배열을 함께 재배치)
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        long[] sortHashes = hashes;
+        Arrays.sort(order, (a, b) -> Long.compare(sortHashes[a], sortHashes[b]));
+
+        Path temp = indexPath.resolveSibling("." + indexPath.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(attributes.size());
+            out.writeLong(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                int slot = order[i];
+                out.writeLong(hashes[slot]);
+                out.writeLong(offsets[slot]);
+                out.writeInt(lengths[slot]);
+            }
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, indexPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return open(indexPath, dataPath);
+    }
+
+    /**
+     * 현재 데이터 파일과 일치하는 인덱스인지 확인
+     */
+    public boolean matches(Path dataPath) throws IOException {
+        if (!Files.exists(dataPath)) {
+            return false;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(dataPath, BasicFileAttributes.class);
+        return attributes.size() == dataSize
+                && attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS) == dataModified;
+    }
+
+    /**
+     * id 해시가 같은 레코드들의 위치 [오프셋, 길이] 목록
+     * 해시 충돌이 있을 수 있으므로 호출자는 디코딩한 레코드의 id를 다시 확인해야 합니다.
+     */
+    public long[][] lookup(String id) {
+        long target = hash(id);
+        int low = 0;
+        int high = count - 1;
+        int first = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = hashAt(mid);
+            if (value < target) {
+                low = mid + 1;
+            } else {
+                if (value == target) {
+                    first = mid;
+                }
+                high = mid - 1;
+            }
+        }
+        if (first < 0) {
+            return new long[0][];
+        }
+        int last = first;
+        while (last + 1 < count && hashAt(last + 1) == target) {
+            last++;
+        }
+        long[][] slots = new long[last - first + 1][];
+        for (int i = first; i <= last; i++) {
+            int position = HEADER_BYTES + i * ENTRY_BYTES;
+            slots[i - first] = new long[]{buffer.getLong(position + 8), buffer.getInt(position + 16)};
+        }
+        return slots;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * 데이터 파일에서 [오프셋, 길이] 구간만 읽기
+     */
+    public static byte[] readSlice(FileChannel channel, long offset, int length) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, offset + bytes.position()) < 0) {
+                throw new IOException("인덱스가 가리키는 위치가 파일 범위를 벗어났습니다");
+            }
+        }
+        return bytes.array();
+    }
+
+    private long hashAt(int i) {
+        return buffer.getLong(HEADER_BYTES + i * ENTRY_BYTES);
+    }
+
+    /**
+     * FNV-1a 64비트 해시
+     */
+    static long hash(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,134 @@
+package com.petcare.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 크기 제한 LRU 캐시 (가장 오래 쓰지 않은 항목부터 제거, 선택적으로 유효 시간 적용, 적중/실패 횟수 집계)
+ * 모든 접근은 하나의 락으로 보호하므로 여러 스레드에서 함께 써도 됩니다.
+ */
+public class LruCache<K, V> {
+
+    private final int capacity;
+    private final long ttlMillis; // 0이면 만료 없음
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public LruCache(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * @param ttlMillis 저장 후 이 시간이 지나면 없는 것으로 봄 (0이면 만료 없음)
+     */
+    public LruCache(int capacity, long ttlMillis) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("캐시 크기는 1 이상이어야 합니다: " + capacity);
+        }
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("유효 시간은 0 이상이어야 합니다: " + ttlMillis);
+        }
+        this.capacity = capacity;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 값 (없으면 null, 적중/실패 횟수에 반영)
+     */
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && ttlMillis > 0 && System.currentTimeMillis() - entry.storedAt >= ttlMillis) {
+                entries.remove(key);
+                expirations++;
+                entry = null;
+            }
+            if (entry != null) {
+                hits++;
+                return entry.value;
+            }
+            misses++;
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        lock.lock();
+        try {
+            entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 전체 비우기 (집계 횟수는 유지)
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 상태 {capacity, ttlMillis, size, hits, misses, evictions, expirations, hitRate}
+     */
+    public Map<String, Object> stats() {
+        lock.lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("capacity", capacity);
+            stats.put("ttlMillis", ttlMillis);
+            stats.put("size", entries.size());
+            stats.put("hits", hits);
+            stats.put("misses", misses);
+            stats.put("evictions", evictions);
+            stats.put("expirations", expirations);
+            long lookups = hits + misses;
+            stats.put("hitRate", lookups == 0 ? 0.0 : (double) hits / lookups);
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long storedAt;
+
+        private Entry(V value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.petcare.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 데이터 파일 저장 형식 (app.data.format=json|smile|cbor, app.data.compression=none|gzip)
+ * 서비스 코드는 항상 "pets.json" 같은 논리 파일명을 사용하고,
+ * 실제 파일명은 형식에 따라 "pets.smile", "pets.cbor.gz" 등으로 바뀝니다.
+ */
+public class StorageCodec {
+
+    private static final String LOGICAL_EXTENSION = ".json";
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private final String format;
+    private final boolean gzip;
+    private final ObjectMapper mapper;
+
+    private StorageCodec(String format, boolean gzip, ObjectMapper mapper) {
+        this.format = format;
+        this.gzip = gzip;
+        this.mapper = mapper;
+        this.mapper.registerModule(new JavaTimeModule());
+    }
+
+    public static StorageCodec of(String format, String compression) {
+        boolean gzip;
+        switch (compression == null ? "none" : compression.trim().toLowerCase()) {
+            case "none":
+            case "":
+                gzip = false;
+                break;
+            case "gzip":
+                gzip = true;
+                break;
+            default:
+                throw new IllegalArgumentException("지원하지 않는 압축 방식: " + compression + " (none|gzip)");
+        }
+        switch (format == null ? "json" : format.trim().toLowerCase()) {
+            case "json":
+                return new StorageCodec("json", gzip, new ObjectMapper());
+            case "smile":
+                return new StorageCodec("smile", gzip, new SmileMapper());
+            case "cbor":
+                return new StorageCodec("cbor", gzip, new CBORMapper());
+            default:
+                throw new IllegalArgumentException("지원하지 않는 저장 형식: " + format + " (json|smile|cbor)");
+        }
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public boolean isCompressed() {
+        return gzip;
+    }
+
+    /**
+     * 레코드 단위로 잘라 읽을 수 있는 형식인지 (id 인덱스 사용 가능 여부)
+     * gzip은 임의 위치 접근이 안 되고, Smile은 앞쪽 문자열을 역참조하므로 제외합니다.
+     */
+    public boolean supportsRandomAccess() {
+        return !gzip && !"smile".equals(format);
+    }
+
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * 논리 파일명 → 실제 파일명 (예: "pets.json" → "pets.smile.gz")
+     */
+    public String fileName(String logicalName) {
+        String base = logicalName.endsWith(LOGICAL_EXTENSION)
+                ? logicalName.substring(0, logicalName.length() - LOGICAL_EXTENSION.length())
+                : logicalName;
+        return base + "." + format + (gzip ? GZIP_EXTENSION : "");
+    }
+
+    /**
+     * 실제 파일명 → 논리 파일명 (이 형식의 파일이 아니면 null)
+     */
+    public String logicalName(String fileName) {
+        String suffix = "." + format + (gzip ? GZIP_EXTENSION : "");
+        if (!fileName.endsWith(suffix)) {
+            return null;
+        }
+        return fileName.substring(0, fileName.length() - suffix.length()) + LOGICAL_EXTENSION;
+    }
+
+    public <T> T read(Path path, JavaType type) throws IOException {
+        try (InputStream in = openInput(path)) {
+            return mapper.readValue(in, type);
+        }
+    }
+
+    /**
+     * 파일에 기록하고 fsync까지 수행
+     */
+    public void write(Path path, Object data) throws IOException {
+        try (FileOutputStream file = new FileOutputStream(path.toFile())) {
+            OutputStream out = gzip ? new GZIPOutputStream(file, 64 * 1024) : new BufferedOutputStream(file, 64 * 1024);
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                if ("json".equals(format)) {
+                    mapper.writerWithDefaultPrettyPrinter().writeValue(generator, data);
+                } else {
+                    mapper.writeValue(generator, data);
+                }
+                generator.flush();
+                if (out instanceof GZIPOutputStream) {
+                    ((GZIPOutputStream) out).finish();
+                }
+                out.flush();
+                file.getFD().sync();
+            }
+        }
+    }
+
+    public InputStream openInput(Path path) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+        return gzip ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+
+    @Override
+    public String toString() {
+        return format + (gzip ? "+gzip" : "");
+    }
+}
@@ -0,0 +1,38 @@
+-- 내장 SQL 저장소 스키마 (app.storage.backend=sql)
+-- 조회 조건으로 쓰는 컬럼만 따로 두고, 엔티티 전체는 payload에 JSON으로 저장합니다.
+-- seq는 저장 순서를 유지하기 위한 값입니다. (파일 저장소의 목록 순서와 동일)
+
+CREATE TABLE IF NOT EXISTS pets (
+    seq BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    id VARCHAR(64) PRIMARY KEY,
+    payload CLOB NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS hospitals (
+    seq BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    id VARCHAR(64) PRIMARY KEY,
+    city VARCHAR(100),
+    payload CLOB NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_hospitals_city ON hospitals (city);
+
+CREATE TABLE IF NOT EXISTS hospital_departments (
+    department VARCHAR(50) NOT NULL,
+    hospital_id VARCHAR(64) NOT NULL,
+    PRIMARY KEY (department, hospital_id)
+);
+CREATE INDEX IF NOT EXISTS idx_hospital_departments_hospital ON hospital_departments (hospital_id);
+
+CREATE TABLE IF NOT EXISTS reservations (
+    seq BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    id VARCHAR(64) PRIMARY KEY,
+    pet_id VARCHAR(64),
+    hospital_id VARCHAR(64),
+    status VARCHAR(20),
+    reservation_date_time TIMESTAMP,
+    payload CLOB NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_reservations_pet ON reservations (pet_id);
+CREATE INDEX IF NOT EXISTS idx_reservations_hospital ON reservations (hospital_id, status);
+CREATE INDEX IF NOT EXISTS idx_reservations_status ON reservations (status);
+CREATE INDEX IF NOT EXISTS idx_reservations_date ON reservations (reservation_date_time);
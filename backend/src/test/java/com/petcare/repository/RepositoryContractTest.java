@@ -0,0 +1,247 @@
+package com.petcare.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petcare.config.SqlStorageConfig;
+import com.petcare.index.HospitalStore;
+import com.petcare.model.Hospital;
+import com.petcare.model.Reservation;
+import com.petcare.repository.file.FileHospitalRepository;
+import com.petcare.repository.file.FileReservationRepository;
+import com.petcare.repository.jdbc.JdbcHospitalRepository;
+import com.petcare.repository.jdbc.JdbcReservationRepository;
+import com.petcare.util.DataFileWatcher;
+import com.petcare.util.DataJournal;
+import com.petcare.util.FileDataManager;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 저장소 공통 동작 테스트 (파일 / 샤딩 파일 / H2 SQL 저장소가 같은 결과를 내는지)
+ * 저장소는 RepositoryBenchmark와 같이 스프링 없이 임시 디렉토리에 직접 만듭니다.
+ */
+class RepositoryContractTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 10, 30, 10, 0);
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "sharded", "sql"})
+    void reservationCrud(String backend) throws IOException {
+        try (Backend storage = Backend.open(backend, directory)) {
+            ReservationRepository repository = storage.reservations;
+            assertEquals(0, repository.count());
+            assertNull(repository.findById("r1"));
+
+            repository.save(reservation("r1", "pet1", "hosp_001", BASE, "pending"));
+            repository.saveAll(List.of(
+                    reservation("r2", "pet1", "hosp_002", BASE.plusDays(1), "pending"),
+                    reservation("r3", "pet2", "hosp_001", BASE.plusMonths(1), "confirmed")));
+
+            assertEquals(3, repository.count());
+            assertTrue(repository.existsById("r2"));
+            assertEquals("hosp_002", repository.findById("r2").getHospitalId());
+            assertEquals(List.of("r1", "r2", "r3"), ids(repository.findAll()));
+
+            // 교체 (다른 달로 옮겨도 같은 id 하나만 남아야 함)
+            repository.save(reservation("r1", "pet1", "hosp_001", BASE.plusMonths(2), "cancelled"));
+            assertEquals(3, repository.count());
+            assertEquals("cancelled", repository.findById("r1").getStatus());
+            assertEquals(BASE.plusMonths(2), repository.findById("r1").getReservationDateTime());
+
+            assertTrue(repository.deleteById("r2"));
+            assertFalse(repository.deleteById("r2"));
+            assertNull(repository.findById("r2"));
+            assertFalse(repository.existsById("r2"));
+            assertEquals(2, repository.count());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "sharded", "sql"})
+    void reservationLookups(String backend) throws IOException {
+        try (Backend storage = Backend.open(backend, directory)) {
+            ReservationRepository repository = storage.reservations;
+            repository.saveAll(List.of(
+                    reservation("r1", "pet1", "hosp_001", BASE, "pending"),
+                    reservation("r2", "pet1", "hosp_002", BASE.plusDays(1), "confirmed"),
+                    reservation("r3", "pet2", "hosp_001", BASE.plusDays(2), "confirmed"),
+                    reservation("r4", "pet2", "hosp_001", BASE.plusDays(3), "pending")));
+
+            assertEquals(List.of("r1", "r2"), sortedIds(repository.findByPetId("pet1")));
+            assertEquals(List.of("r1", "r3", "r4"), sortedIds(repository.findByHospitalId("hosp_001")));
+            assertEquals(List.of("r2", "r3"), sortedIds(repository.findByStatus("confirmed")));
+            assertTrue(repository.findByPetId("pet9").isEmpty());
+
+            // 병원 + 상태
+            assertEquals(List.of("r1", "r4"), sortedIds(repository.search(null, "hosp_001", "pending", null, null)));
+            assertEquals(List.of("r3"), sortedIds(repository.search("pet2", "hosp_001", "confirmed", null, null)));
+
+            // 상태가 바뀌면 이전 상태 조회에서 빠짐
+            repository.save(reservation("r1", "pet1", "hosp_001", BASE, "confirmed"));
+            assertEquals(List.of("r4"), sortedIds(repository.search(null, "hosp_001", "pending", null, null)));
+            assertEquals(List.of("r1", "r2", "r3"), sortedIds(repository.findByStatus("confirmed")));
+
+            // 조건이 없으면 전체
+            assertEquals(4, repository.search(null, null, null, null, null).size());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "sharded", "sql"})
+    void reservationDateRange(String backend) throws IOException {
+        try (Backend storage = Backend.open(backend, directory)) {
+            ReservationRepository repository = storage.reservations;
+            repository.saveAll(List.of(
+                    reservation("late", "pet1", "hosp_001", BASE.plusMonths(1), "pending"),
+                    reservation("first", "pet1", "hosp_001", BASE, "pending"),
+                    reservation("middle", "pet2", "hosp_002", BASE.plusDays(3), "confirmed"),
+                    reservation("undated", "pet2", "hosp_002", null, "pending")));
+
+            // 양 끝 포함, 예약 일시 순
+            assertEquals(List.of("first", "middle", "late"),
+                    ids(repository.search(null, null, null, BASE, BASE.plusMonths(1))));
+            assertEquals(List.of("middle"),
+                    ids(repository.search(null, null, null, BASE.plusMinutes(1), BASE.plusMonths(1).minusMinutes(1))));
+            assertEquals(List.of("middle", "late"), ids(repository.search(null, null, null, BASE.plusDays(1), null)));
+            assertEquals(List.of("first"), ids(repository.search("pet1", null, null, null, BASE.plusDays(1))));
+
+            // 다른 달로 옮긴 예약은 새 기간에서만 조회됨
+            repository.save(reservation("first", "pet1", "hosp_001", BASE.plusMonths(2), "pending"));
+            assertEquals(List.of("middle", "late"),
+                    ids(repository.search(null, null, null, BASE, BASE.plusMonths(1))));
+            assertEquals(List.of("first"),
+                    ids(repository.search(null, null, null, BASE.plusMonths(2), BASE.plusMonths(2))));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "sql"})
+    void hospitalLookups(String backend) throws IOException {
+        try (Backend storage = Backend.open(backend, directory)) {
+            HospitalRepository repository = storage.hospitals;
+            repository.saveAll(List.of(
+                    hospital("h1", "대전광역시 유성구", List.of("내과", "외과")),
+                    hospital("h2", "서울특별시 강남구", List.of("내과", "응급의학과")),
+                    hospital("h3", "대전광역시 유성구", List.of("피부과"))));
+
+            assertEquals(List.of("h1", "h3"), hospitalIds(repository.findByCity("대전광역시 유성구")));
+            assertTrue(repository.findByCity("부산광역시 해운대구").isEmpty());
+            assertEquals(List.of("h1", "h2"), hospitalIds(repository.findByDepartment("내과")));
+            assertEquals(List.of("h2"), hospitalIds(repository.findByDepartment("응급의학과")));
+
+            // 진료과·도시 변경과 삭제가 조회에 반영됨
+            repository.save(hospital("h3", "서울특별시 강남구", List.of("피부과", "내과")));
+            assertEquals(List.of("h1"), hospitalIds(repository.findByCity("대전광역시 유성구")));
+            assertEquals(List.of("h1", "h2", "h3"), hospitalIds(repository.findByDepartment("내과")));
+            assertTrue(repository.deleteById("h2"));
+            assertEquals(List.of("h1", "h3"), hospitalIds(repository.findByDepartment("내과")));
+
+            // 스냅샷용 열 저장소 (저장 순서)
+            HospitalStore store = repository.loadStore();
+            assertEquals(2, store.size());
+            assertEquals("h1", store.id(0));
+            assertEquals("h3", store.id(1));
+            assertEquals(List.of("피부과", "내과"), store.departments(1));
+            assertEquals("서울특별시 강남구", store.city(1));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "sharded", "sql"})
+    void dataSurvivesReopen(String backend) throws IOException {
+        try (Backend storage = Backend.open(backend, directory)) {
+            storage.reservations.save(reservation("r1", "pet1", "hosp_001", BASE, "pending"));
+            storage.hospitals.save(hospital("h1", "대전광역시 유성구", List.of("내과")));
+        }
+        try (Backend storage = Backend.open(backend, directory)) {
+            assertEquals("pet1", storage.reservations.findById("r1").getPetId());
+            assertEquals(List.of("r1"), ids(storage.reservations.findByPetId("pet1")));
+            assertEquals(List.of("h1"), hospitalIds(storage.hospitals.findByDepartment("내과")));
+            assertEquals(1, storage.hospitals.loadStore().size());
+        }
+    }
+
+    private static Reservation reservation(String id, String petId, String hospitalId, LocalDateTime dateTime,
+                                           String status) {
+        return new Reservation(id, petId, hospitalId, dateTime, status, null, "보호자", "010-0000-0000");
+    }
+
+    private static Hospital hospital(String id, String city, List<String> departments) {
+        return new Hospital(id, id + " 동물병원", city + " 1", city, 36.36, 127.35, departments,
+                "09:00~18:00", "042-000-0000", null, null);
+    }
+
+    private static List<String> ids(List<Reservation> reservations) {
+        return reservations.stream().map(Reservation::getId).collect(Collectors.toList());
+    }
+
+    private static List<String> sortedIds(List<Reservation> reservations) {
+        return reservations.stream().map(Reservation::getId).sorted().collect(Collectors.toList());
+    }
+
+    private static List<String> hospitalIds(List<Hospital> hospitals) {
+        return hospitals.stream().map(Hospital::getId).sorted().collect(Collectors.toList());
+    }
+
+    /**
+     * 같은 데이터 디렉토리를 쓰는 예약·병원 저장소 묶음
+     */
+    private static final class Backend implements Closeable {
+        private final ReservationRepository reservations;
+        private final HospitalRepository hospitals;
+        private final Closeable resource;
+
+        private Backend(ReservationRepository reservations, HospitalRepository hospitals, Closeable resource) {
+            this.reservations = reservations;
+            this.hospitals = hospitals;
+            this.resource = resource;
+        }
+
+        private static Backend open(String backend, Path directory) throws IOException {
+            FileDataManager fileDataManager = new FileDataManager(directory.toString(), "json", "none");
+            if ("sql".equals(backend)) {
+                HikariDataSource dataSource = SqlStorageConfig.createDataSource(
+                        "jdbc:h2:file:" + directory.toAbsolutePath().resolve("petcare"), "sa", "");
+                ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+                TransactionTemplate transactionTemplate =
+                        new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+                return new Backend(
+                        new JdbcReservationRepository(jdbcTemplate, transactionTemplate, objectMapper, fileDataManager),
+                        new JdbcHospitalRepository(jdbcTemplate, transactionTemplate, objectMapper, fileDataManager),
+                        dataSource::close);
+            }
+            DataFileWatcher watcher = new DataFileWatcher(fileDataManager);
+            DataJournal journal = new DataJournal(fileDataManager, false);
+            return new Backend(
+                    new FileReservationRepository(fileDataManager, watcher, journal, "sharded".equals(backend)),
+                    new FileHospitalRepository(fileDataManager, watcher, journal),
+                    watcher::close);
+        }
+
+        @Override
+        public void close() throws IOException {
+            resource.close();
+        }
+    }
+}